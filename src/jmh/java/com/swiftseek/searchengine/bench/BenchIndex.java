@@ -0,0 +1,57 @@
+package com.swiftseek.searchengine.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.apache.lucene.util.IOUtils;
+
+import com.swiftseek.searchengine.lucene.IndexProperties;
+import com.swiftseek.searchengine.lucene.LuceneIndexManager;
+import com.swiftseek.searchengine.lucene.LuceneIndexer;
+import com.swiftseek.searchengine.lucene.LuceneSearcher;
+import com.swiftseek.searchengine.lucene.SearchQueryParser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The index stack wired by hand with the application defaults, on a
+ * throw-away directory. Retention is off so the synthetic timestamps are
+ * never dropped.
+ */
+public final class BenchIndex implements AutoCloseable {
+
+    public final LuceneIndexManager manager;
+    public final LuceneIndexer indexer;
+    public final SearchQueryParser queryParser;
+    public final LuceneSearcher searcher;
+
+    private final Path root;
+
+    public BenchIndex(int searchThreads) throws IOException {
+        this.root = Files.createTempDirectory("swiftseek-bench");
+        this.manager = new LuceneIndexManager(new IndexProperties(
+                root.toString(), IndexProperties.DirectoryType.MMAP, Set.of("tip", "nvd", "dvd", "kdi"),
+                64, Lucene99Codec.Mode.BEST_SPEED, 7, 0, searchThreads));
+        this.indexer = new LuceneIndexer(manager);
+        this.queryParser = new SearchQueryParser(manager, new SimpleMeterRegistry(), 2.0f, 1.0f, 1.5f, 2, 256, 64, 8, 10_000);
+        this.searcher = new LuceneSearcher(manager, queryParser, new SimpleMeterRegistry(), 1.0, 12, 10, 30, 0);
+    }
+
+    /** Indexes {@code count} documents from {@code corpus} and makes them visible. */
+    public void load(SyntheticCorpus corpus, int count) throws IOException {
+        for (int done = 0; done < count; done += 1000) {
+            indexer.indexBatch(corpus.requests(Math.min(1000, count - done)));
+        }
+        manager.commit();
+        manager.refresh();
+    }
+
+    @Override
+    public void close() throws IOException {
+        manager.close();
+        IOUtils.rm(root);
+    }
+}
@@ -0,0 +1,148 @@
+package com.swiftseek.searchengine.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.swiftseek.searchengine.crawler.CrawledPage;
+import com.swiftseek.searchengine.crawler.news.NewsArticle;
+import com.swiftseek.searchengine.lucene.IndexRequest;
+
+/**
+ * Reproducible corpus for the benchmarks: the same seed always produces the
+ * same pages, articles and query terms.
+ *
+ * Words follow a Zipf distribution over a 5,000-word vocabulary whose head
+ * is real tech vocabulary (so "java" or "spring" behave like frequent
+ * terms), pages are 200-400 words from one of 20 sites, and articles are
+ * 80-200 words from one of 8 sources. Crawl and publish times are skewed
+ * towards "now", like a live index.
+ */
+public final class SyntheticCorpus {
+
+    public static final String[] HEAD_TERMS = {
+            "java", "spring", "search", "index", "cloud", "data", "security", "release",
+            "performance", "kotlin", "lucene", "boot", "api", "server", "database", "query",
+            "python", "linux", "network", "memory", "thread", "cache", "latency", "docker",
+            "kubernetes", "compiler", "runtime", "update", "framework", "library"
+    };
+
+    private static final String[] SITES = {
+            "spring.io", "oracle.com", "openjdk.org", "baeldung.com", "infoq.com",
+            "lucene.apache.org", "kotlinlang.org", "stackoverflow.com", "github.com", "medium.com",
+            "dev.to", "jetbrains.com", "redhat.com", "microsoft.com", "aws.amazon.com",
+            "cloud.google.com", "docker.com", "kubernetes.io", "python.org", "mozilla.org"
+    };
+
+    private static final String[] SOURCES = {
+            "TechCrunch", "The Verge", "Ars Technica", "Wired",
+            "ZDNet", "InfoWorld", "The Register", "Hacker News"
+    };
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ren", "to", "sa", "vi", "nor", "el", "qua",
+            "tes", "ri", "pon", "da", "xu", "gel", "fa", "mo", "ship", "ter"
+    };
+
+    private static final int VOCABULARY_SIZE = 5000;
+    private static final double ZIPF_EXPONENT = 1.0;
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final SplittableRandom random;
+    private final long now;
+    private final String[] vocabulary;
+    private final double[] cumulative;
+    private int sequence;
+
+    public SyntheticCorpus(long seed, long now) {
+        this.random = new SplittableRandom(seed);
+        this.now = now;
+        this.vocabulary = buildVocabulary();
+        this.cumulative = zipfCumulative(vocabulary.length);
+    }
+
+    private static String[] buildVocabulary() {
+        String[] words = Arrays.copyOf(HEAD_TERMS, VOCABULARY_SIZE);
+        for (int i = HEAD_TERMS.length; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int n = i; n > 0 || word.length() < 4; n /= SYLLABLES.length) {
+                word.append(SYLLABLES[n % SYLLABLES.length]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    private static double[] zipfCumulative(int n) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1.0 / Math.pow(rank, ZIPF_EXPONENT);
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    /** One word, drawn with Zipf frequency. */
+    public String word() {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return vocabulary[index >= 0 ? index : -index - 1];
+    }
+
+    /** A word from the rarer part of the vocabulary (rank 1000 or worse). */
+    public String rareWord() {
+        return vocabulary[random.nextInt(1000, vocabulary.length)];
+    }
+
+    public CrawledPage page() {
+        String site = SITES[random.nextInt(SITES.length)];
+        return new CrawledPage(
+                words(4 + random.nextInt(5)),
+                "https://" + site + "/docs/" + (sequence++),
+                words(200 + random.nextInt(201)),
+                site,
+                recentTime(60));
+    }
+
+    public NewsArticle article() {
+        return new NewsArticle(
+                words(6 + random.nextInt(6)),
+                "https://news.example.com/" + (sequence++),
+                words(80 + random.nextInt(121)),
+                SOURCES[random.nextInt(SOURCES.length)],
+                recentTime(30));
+    }
+
+    /** {@code count} index requests, roughly 70% crawled pages and 30% news. */
+    public List<IndexRequest> requests(int count) {
+        List<IndexRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(random.nextInt(10) < 7 ? IndexRequest.of(page()) : IndexRequest.of(article()));
+        }
+        return requests;
+    }
+
+    public static String[] sites() {
+        return SITES.clone();
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder(count * 7);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) text.append(i % 12 == 0 ? ". " : " ");
+            text.append(word());
+        }
+        return text.append('.').toString();
+    }
+
+    /** Age is the square of a uniform draw, so most documents are recent. */
+    private long recentTime(int maxDays) {
+        double u = random.nextDouble();
+        return now - (long) (u * u * maxDays * DAY);
+    }
+}
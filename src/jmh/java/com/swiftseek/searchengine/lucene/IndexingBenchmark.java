@@ -0,0 +1,65 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.swiftseek.searchengine.bench.BenchIndex;
+import com.swiftseek.searchengine.bench.SyntheticCorpus;
+
+/**
+ * Indexing throughput in documents per second through
+ * {@link LuceneIndexer#indexBatch(List)}, the path the indexing pipeline
+ * workers use: partition routing, per-document update plus cross-partition
+ * deletes, RAM buffer flushes. Commits are not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndexingBenchmark {
+
+    private static final int BATCH = 500;
+
+    private BenchIndex index;
+    private SyntheticCorpus corpus;
+    private List<IndexRequest> batch;
+
+    @Setup(Level.Trial)
+    public void openIndex() throws IOException {
+        index = new BenchIndex(0);
+        corpus = new SyntheticCorpus(42, System.currentTimeMillis());
+    }
+
+    @Setup(Level.Invocation)
+    public void nextBatch() {
+        batch = corpus.requests(BATCH);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeIndex() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void indexBatch() throws IOException {
+        index.indexer.indexBatch(batch);
+    }
+}
@@ -0,0 +1,91 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.swiftseek.searchengine.bench.BenchIndex;
+import com.swiftseek.searchengine.bench.SyntheticCorpus;
+
+/**
+ * End-to-end {@link LuceneSearcher#search} cost (parse cache, filters,
+ * freshness scoring, paging, highlighting, stored fields) over a 50k
+ * document synthetic index, across query shapes, filters and page depths.
+ * Reports both throughput and average latency.
+ *
+ * Every query shape cycles through a few fixed queries so the parsed-query
+ * cache stays warm, as it is for hot production queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class SearchBenchmark {
+
+    private static final int DOCS = 50_000;
+    private static final int PAGE_SIZE = 10;
+
+    @Param({ "term", "words", "phrase", "prefix", "boolean", "rare" })
+    public String query;
+
+    @Param({ "none", "domain", "days" })
+    public String filter;
+
+    @Param({ "0", "20" })
+    public int page;
+
+    @Param({ "false" })
+    public boolean facets;
+
+    private BenchIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildIndex() throws IOException {
+        index = new BenchIndex(Runtime.getRuntime().availableProcessors());
+        SyntheticCorpus corpus = new SyntheticCorpus(42, System.currentTimeMillis());
+        index.load(corpus, DOCS);
+
+        String[] head = SyntheticCorpus.HEAD_TERMS;
+        queries = switch (query) {
+            case "term" -> new String[] { head[0], head[1], head[2], head[3] };
+            case "words" -> new String[] { head[0] + " " + head[4], head[1] + " " + head[10] + " " + head[2] };
+            case "phrase" -> new String[] { '"' + head[0] + " " + head[1] + '"', '"' + head[3] + " " + head[2] + '"' };
+            case "prefix" -> new String[] { "se*", "ja*", "cl*" };
+            case "boolean" -> new String[] { head[0] + " AND " + head[1] + " NOT " + head[9], "(" + head[4] + " OR " + head[7] + ") AND " + head[2] };
+            case "rare" -> new String[] { corpus.rareWord(), corpus.rareWord(), corpus.rareWord() };
+            default -> throw new IllegalArgumentException(query);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void closeIndex() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public SearchPage search() throws Exception {
+        String q = queries[next++ % queries.length];
+        String domain = filter.equals("domain") ? SyntheticCorpus.sites()[0] : null;
+        Integer days = filter.equals("days") ? 1 : null;
+        return index.searcher.search(q, domain, days, page, PAGE_SIZE, null, facets);
+    }
+}
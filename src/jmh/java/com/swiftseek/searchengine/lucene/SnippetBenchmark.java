@@ -0,0 +1,71 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TopDocs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.swiftseek.searchengine.bench.BenchIndex;
+import com.swiftseek.searchengine.bench.SyntheticCorpus;
+
+/**
+ * Snippet cost alone: {@link LuceneSearcher#snippets} (UnifiedHighlighter
+ * over the indexed offsets) for a fixed page of hits, so changes to
+ * passage length, break iterator or stored-field compression can be
+ * measured without the query itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnippetBenchmark {
+
+    @Param({ "10", "50" })
+    public int hits;
+
+    @Param({ "java", "java spring", "\"search index\"" })
+    public String query;
+
+    private BenchIndex index;
+    private IndexSearcher searcher;
+    private Query textQuery;
+    private TopDocs topDocs;
+
+    @Setup(Level.Trial)
+    public void buildIndex() throws IOException {
+        index = new BenchIndex(0);
+        index.load(new SyntheticCorpus(42, System.currentTimeMillis()), 20_000);
+
+        searcher = index.manager.acquire();
+        textQuery = index.queryParser.parse(query);
+        topDocs = searcher.search(textQuery, hits);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeIndex() throws IOException {
+        index.manager.release(searcher);
+        index.close();
+    }
+
+    @Benchmark
+    public String[] snippets() throws IOException {
+        return index.searcher.snippets(searcher, textQuery, topDocs);
+    }
+}
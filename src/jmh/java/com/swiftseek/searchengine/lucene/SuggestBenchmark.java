@@ -0,0 +1,89 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.util.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.swiftseek.searchengine.bench.BenchIndex;
+import com.swiftseek.searchengine.bench.SyntheticCorpus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Typeahead latency distribution (SampleTime, so p99 is reported) for
+ * {@link TitleSuggester#suggest} over the titles of the synthetic corpus,
+ * once straight from the suggester index ({@code cacheSize=0}) and once
+ * with the prefix result cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestBenchmark {
+
+    private static final int PREFIXES = 512;
+
+    @Param({ "0", "10000" })
+    public long cacheSize;
+
+    private BenchIndex index;
+    private Path suggestPath;
+    private TitleSuggester suggester;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildSuggester() throws IOException {
+        index = new BenchIndex(0);
+        SyntheticCorpus corpus = new SyntheticCorpus(42, System.currentTimeMillis());
+        index.load(corpus, 20_000);
+
+        QueryLog queryLog = new QueryLog("", 10_000, 24);
+        for (int i = 0; i < 5_000; i++) {
+            queryLog.record(corpus.word());
+        }
+
+        suggestPath = Files.createTempDirectory("swiftseek-suggest-bench");
+        suggester = new TitleSuggester(index.manager, index.indexer, queryLog, new SimpleMeterRegistry(),
+                suggestPath.toString(), 2, 500_000, 10_000, cacheSize);
+        suggester.rebuild();
+
+        // what users type: the first 2-5 characters of (mostly head) words
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            String word = corpus.word();
+            prefixes[i] = word.substring(0, Math.min(word.length(), 2 + i % 4));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        suggester.close();
+        index.close();
+        IOUtils.rm(suggestPath);
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return suggester.suggest(prefixes[next++ & (PREFIXES - 1)], 8);
+    }
+}
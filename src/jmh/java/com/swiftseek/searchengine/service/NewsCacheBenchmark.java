@@ -0,0 +1,116 @@
+package com.swiftseek.searchengine.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.swiftseek.searchengine.bench.BenchIndex;
+import com.swiftseek.searchengine.bench.SyntheticCorpus;
+import com.swiftseek.searchengine.crawler.news.NewsArticle;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link NewsQueryCache} and {@link NewsDedupCache} under contention from 8
+ * threads, the way request threads hit them on every search.
+ *
+ * Query keys are Zipf-distributed words with random case and spacing, so
+ * normalization, hits and the occasional miss (the fetcher returns 10
+ * prebuilt articles on the fetch pool) are all exercised. The dedup benchmark checks a URL and marks
+ * it about one time in ten, mirroring a stream of mostly known articles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class NewsCacheBenchmark {
+
+    private BenchIndex index;
+    private NewsQueryCache queryCache;
+    private NewsDedupCache dedupCache;
+    private List<NewsArticle> articles;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        index = new BenchIndex(0);
+        queryCache = new NewsQueryCache(query -> articles, new SimpleMeterRegistry(), 20_000,
+                Duration.ofMinutes(10), Duration.ofMinutes(60), 4, 100);
+        dedupCache = new NewsDedupCache(index.manager, 1_000_000);
+
+        SyntheticCorpus corpus = new SyntheticCorpus(42, System.currentTimeMillis());
+        articles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            articles.add(corpus.article());
+        }
+        for (int i = 0; i < 200_000; i++) {
+            dedupCache.markIndexed("https://news.example.com/" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        queryCache.close();
+        index.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        SyntheticCorpus corpus;
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            random = new SplittableRandom(Thread.currentThread().threadId());
+            corpus = new SyntheticCorpus(random.nextLong(), System.currentTimeMillis());
+        }
+
+        String query() {
+            String word = corpus.word();
+            return switch (random.nextInt(3)) {
+                case 0 -> word;
+                case 1 -> " " + word.toUpperCase() + " ";
+                default -> word + "  news";
+            };
+        }
+
+        String url() {
+            return "https://news.example.com/" + random.nextInt(400_000);
+        }
+    }
+
+    @Benchmark
+    public CompletableFuture<List<NewsArticle>> queryCacheGet(Caller caller) {
+        return queryCache.get(caller.query());
+    }
+
+    @Benchmark
+    public boolean dedupCheckAndMark(Caller caller) {
+        String url = caller.url();
+        boolean known = dedupCache.isAlreadyIndexed(url);
+        if (!known && caller.random.nextInt(10) == 0) {
+            dedupCache.markIndexed(url);
+        }
+        return known;
+    }
+}
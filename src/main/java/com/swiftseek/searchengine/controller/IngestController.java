@@ -0,0 +1,42 @@
+package com.swiftseek.searchengine.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import com.swiftseek.searchengine.lucene.BulkIngester;
+import com.swiftseek.searchengine.lucene.BulkResult;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class IngestController {
+
+    private final BulkIngester bulkIngester;
+
+    public IngestController(BulkIngester bulkIngester) {
+        this.bulkIngester = bulkIngester;
+    }
+
+    /**
+     * Bulk import API: one page/article JSON object per line, streamed.
+     *
+     * Example:
+     * curl -H 'Content-Type: application/x-ndjson' --data-binary @dump.ndjson /ingest
+     * curl -H 'Content-Type: application/x-ndjson' -H 'Content-Encoding: gzip' \
+     *      --data-binary @dump.ndjson.gz /ingest
+     *
+     * The body is indexed while it is being read and the response arrives
+     * after the final commit. 429 when too many imports are running.
+     */
+    @PostMapping(value = "/ingest", consumes = SearchController.NDJSON, produces = "application/json")
+    public BulkResult ingest(HttpServletRequest request) throws IOException {
+
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader("Content-Encoding"))) {
+            body = new GZIPInputStream(body, 1 << 16);
+        }
+        return bulkIngester.ingest(body);
+    }
+}
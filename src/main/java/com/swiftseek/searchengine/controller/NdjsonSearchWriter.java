@@ -0,0 +1,67 @@
+package com.swiftseek.searchengine.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import com.swiftseek.searchengine.lucene.SearchFacets;
+import com.swiftseek.searchengine.lucene.SearchHit;
+import com.swiftseek.searchengine.lucene.SearchHitSink;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SequenceWriter;
+
+/**
+ * Writes a result page as newline-delimited JSON:
+ *
+ * <pre>
+ * {"totalResults":42}                        (plus "partial":true when cut off by the time budget)
+ * {"facets":{"domains":[...],"days":[...]}}   (only with facets=true)
+ * {"title":...,"url":...,"snippet":...,"domain":...,"crawlTime":...,"score":...}
+ * ...
+ * {"nextCursor":"..."}          (only when a following page may exist)
+ * </pre>
+ *
+ * The first line is flushed straight away so the client sees the total
+ * before the hits are loaded; every hit is serialized as it arrives.
+ */
+class NdjsonSearchWriter implements SearchHitSink {
+
+    private final OutputStream out;
+    private final ObjectMapper objectMapper;
+    private SequenceWriter lines;
+
+    NdjsonSearchWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.out = out;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void begin(long totalResults, boolean partial) throws IOException {
+        lines = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+        lines.write(partial
+                ? Map.of("totalResults", totalResults, "partial", true)
+                : Map.of("totalResults", totalResults));
+        lines.flush();
+    }
+
+    @Override
+    public void facets(SearchFacets facets) {
+        lines.write(Map.of("facets", facets));
+    }
+
+    @Override
+    public void hit(SearchHit hit) {
+        lines.write(hit);
+    }
+
+    @Override
+    public void end(String nextCursor) throws IOException {
+        if (nextCursor != null) {
+            lines.write(Map.of("nextCursor", nextCursor));
+        }
+        lines.flush();
+        out.write('\n');   // the separator only goes between lines
+        lines.close();
+    }
+}
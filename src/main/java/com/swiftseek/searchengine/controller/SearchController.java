@@ -1,20 +1,36 @@
 package com.swiftseek.searchengine.controller;
 
+import com.swiftseek.searchengine.lucene.SearchPage;
+import com.swiftseek.searchengine.lucene.TitleSuggester;
+import com.swiftseek.searchengine.service.SearchOverloadedException;
 import com.swiftseek.searchengine.service.SearchService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Map;
+import java.io.IOException;
+import java.util.List;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 public class SearchController {
 
+    static final String NDJSON = "application/x-ndjson";
+
     private final SearchService searchService;
+    private final ObjectMapper objectMapper;
+    private final TitleSuggester titleSuggester;
 
     // Constructor injection (recommended)
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, ObjectMapper objectMapper,
+                            TitleSuggester titleSuggester) {
         this.searchService = searchService;
+        this.objectMapper = objectMapper;
+        this.titleSuggester = titleSuggester;
     }
 
     /**
@@ -25,17 +41,83 @@ public class SearchController {
      * /search?q=java&domain=oracle.com
      * /search?q=java&days=7
      * /search?q=java&domain=spring.io&days=3&page=0&size=5
+     * /search?q=java&size=20&cursor=<nextCursor from the previous response>
+     * /search?q=java&facets=true
+     *
+     * Offset paging (page) is fine for the first few pages; for deep paging
+     * pass back the nextCursor of the previous response instead.
+     *
+     * facets=true adds top-domain and per-day counts for the whole result
+     * set, computed in the same pass as the hits (for the filter sidebar).
+     *
+     * Limits: size up to 100 (1000 streamed), offset paging up to 1000
+     * results deep (400 beyond). A search that runs out of its time budget
+     * returns the hits found so far with "partial": true; when every
+     * search slot is taken the request gets a 503 with Retry-After.
      */
-    @GetMapping("/search")
-    public Map<String, Object> search(
+    @GetMapping(value = "/search", produces = "application/json")
+    public SearchPage search(
             @RequestParam("q") String query,
             @RequestParam(value = "domain", required = false) String domain,
             @RequestParam(value = "days", required = false) Integer days,
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "5") int size
+            @RequestParam(value = "size", defaultValue = "5") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "facets", defaultValue = "false") boolean facets
     ) throws Exception {
 
-        return searchService.search(query, domain, days, page, size);
+        return searchService.search(query, domain, days, page, size, cursor, facets);
+    }
+
+    /**
+     * Same search, streamed as NDJSON (Accept: application/x-ndjson) for
+     * large pages: one line with totalResults, one line per hit, and a
+     * final nextCursor line. Hits are written as the searcher produces
+     * them and are not cached.
+     *
+     * Example:
+     * curl -H 'Accept: application/x-ndjson' '/search?q=java&size=500'
+     */
+    @GetMapping(value = "/search", produces = NDJSON)
+    public void searchNdjson(
+            @RequestParam("q") String query,
+            @RequestParam(value = "domain", required = false) String domain,
+            @RequestParam(value = "days", required = false) Integer days,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "5") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "facets", defaultValue = "false") boolean facets,
+            HttpServletResponse response
+    ) throws Exception {
+
+        response.setContentType(NDJSON);
+        searchService.search(query, domain, days, page, size, cursor, facets,
+                new NdjsonSearchWriter(response.getOutputStream(), objectMapper));
+    }
+
+    /**
+     * Typeahead API
+     *
+     * Example:
+     * /suggest?q=spr
+     * /suggest?q=spring boo&size=5
+     */
+    @GetMapping(value = "/suggest", produces = "application/json")
+    public List<String> suggest(
+            @RequestParam("q") String prefix,
+            @RequestParam(value = "size", defaultValue = "8") int size
+    ) {
+
+        return titleSuggester.suggest(prefix, size);
+    }
+
+    /**
+     * Load shedding: 503 plus Retry-After, error body as for any other error
+     */
+    @ExceptionHandler(SearchOverloadedException.class)
+    public void overloaded(SearchOverloadedException e, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(e.retryAfterSeconds()));
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
     }
 
     /**
@@ -0,0 +1,240 @@
+package com.swiftseek.searchengine.crawler;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.swiftseek.searchengine.lucene.IndexRequest;
+import com.swiftseek.searchengine.lucene.IndexingPipeline;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Frontier-driven crawler.
+ *
+ * A single dispatcher loop pulls due URLs from the {@link CrawlFrontier} and
+ * fetches each one on its own virtual thread, bounded by a global concurrency
+ * limit. Outlinks within the depth and domain limits go back into the
+ * frontier; fetched pages are streamed to the page sink (the indexing
+ * pipeline in the running application) as soon as they arrive.
+ *
+ * Crawls are incremental: besides the seeds, every run revisits the known
+ * pages that are due according to the {@link CrawlStateStore}, with
+ * conditional requests. Only new or changed content reaches the page sink;
+ * a {@code 304} or an unchanged content hash just pushes the next visit
+ * further out. The exception is a page whose indexed copy is getting close
+ * to the index retention limit: it is fetched in full and sent again, so
+ * its {@code crawlTime} is refreshed (see {@link CrawlStateStore}).
+ */
+@Component
+public class CrawlEngine {
+
+    private static final long POLL_MILLIS = 200;
+
+    private final WebCrawler webCrawler;
+    private final RobotsTxtCache robotsTxtCache;
+    private final UrlSeenSet seenUrls;
+    private final CrawlStateStore crawlStates;
+    private final CrawlerProperties properties;
+    private final Consumer<CrawledPage> pageSink;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public CrawlEngine(
+            WebCrawler webCrawler,
+            RobotsTxtCache robotsTxtCache,
+            UrlSeenSet seenUrls,
+            CrawlStateStore crawlStates,
+            CrawlerProperties properties,
+            IndexingPipeline indexingPipeline) {
+        this(webCrawler, robotsTxtCache, seenUrls, crawlStates, properties, page -> {
+            try {
+                indexingPipeline.submit(IndexRequest.of(page));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    public CrawlEngine(
+            WebCrawler webCrawler,
+            RobotsTxtCache robotsTxtCache,
+            UrlSeenSet seenUrls,
+            CrawlStateStore crawlStates,
+            CrawlerProperties properties,
+            Consumer<CrawledPage> pageSink) {
+        this.webCrawler = webCrawler;
+        this.robotsTxtCache = robotsTxtCache;
+        this.seenUrls = seenUrls;
+        this.crawlStates = crawlStates;
+        this.properties = properties;
+        this.pageSink = pageSink;
+    }
+
+    /**
+     * Crawls outward from {@code seeds} and the due known pages until the
+     * frontier drains, the page budget is spent or the engine is stopped.
+     * Returns the number of pages fetched in this run, changed or not.
+     */
+    public int crawl(Collection<String> seeds) throws InterruptedException {
+
+        Set<String> allowedDomains = allowedDomains(seeds);
+        CrawlFrontier frontier = new CrawlFrontier(
+                properties.frontierCapacity(),
+                properties.perHostConcurrency(),
+                this::crawlDelayMillis);
+
+        for (String seed : seeds) {
+            enqueue(frontier, seed, 0, allowedDomains);
+        }
+        for (CrawlState state : crawlStates.due(properties.maxPagesPerRun())) {
+            enqueue(frontier, state.url(), state.depth(), allowedDomains);
+        }
+
+        Semaphore permits = new Semaphore(Math.max(1, properties.maxConcurrency()));
+        AtomicInteger fetched = new AtomicInteger();
+        AtomicInteger changed = new AtomicInteger();
+        AtomicInteger dispatched = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (running && !frontier.isIdle()) {
+
+                CrawlTask task = frontier.next(POLL_MILLIS);
+                if (task == null) continue;
+
+                if (dispatched.incrementAndGet() > properties.maxPagesPerRun()) {
+                    frontier.done(task);
+                    seenUrls.forget(task.url());
+                    break;
+                }
+
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        switch (process(task, frontier, allowedDomains)) {
+                            case CHANGED -> {
+                                fetched.incrementAndGet();
+                                changed.incrementAndGet();
+                            }
+                            case UNCHANGED -> fetched.incrementAndGet();
+                            case FAILED -> { }
+                        }
+                    } finally {
+                        frontier.done(task);
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        // budget spent or stopped: what was never fetched must not stay marked
+        // as seen, or a later run would skip it until the revisit interval passes
+        for (CrawlTask left : frontier.drain()) {
+            seenUrls.forget(left.url());
+        }
+
+        System.out.println("🕸️ Crawl run finished: " + fetched.get() + " pages, "
+                + changed.get() + " new, changed or due for re-indexing");
+        return fetched.get();
+    }
+
+    private enum Outcome { CHANGED, UNCHANGED, FAILED }
+
+    private Outcome process(CrawlTask task, CrawlFrontier frontier, Set<String> allowedDomains) {
+
+        CrawlResult result = webCrawler.fetch(task.url(), crawlStates.validators(task.url()));
+        if (result == null) {
+            return Outcome.FAILED;
+        }
+
+        boolean changed = crawlStates.update(task.url(), task.depth(), result);
+        if (changed) {
+            pageSink.accept(result.page());
+        }
+
+        // a 304 has no body; its links were followed when it last changed
+        if (task.depth() < properties.maxDepth()) {
+            for (String link : result.links()) {
+                enqueue(frontier, link, task.depth() + 1, allowedDomains);
+            }
+        }
+        return changed ? Outcome.CHANGED : Outcome.UNCHANGED;
+    }
+
+    private void enqueue(CrawlFrontier frontier, String url, int depth, Set<String> allowedDomains) {
+        String host = hostOf(url);
+        if (host == null || !isAllowedHost(host, allowedDomains)) {
+            return;
+        }
+        if (!seenUrls.markSeen(url, crawlStates.revisitMillis(url))) {
+            return;
+        }
+        if (!frontier.add(new CrawlTask(url, host, depth))) {
+            // frontier full: forget it so a later run can pick it up again
+            seenUrls.forget(url);
+        }
+    }
+
+    /**
+     * Our own delay, raised to the site's robots.txt Crawl-delay (capped so a
+     * hostile value cannot stall a host forever).
+     */
+    private long crawlDelayMillis(CrawlTask task) {
+        long requested = Math.min(robotsTxtCache.crawlDelayMillis(task.url()), properties.maxCrawlDelayMs());
+        return Math.max(properties.crawlDelayMs(), requested);
+    }
+
+    /* ---------------------------------------------------
+       DOMAIN LIMITS
+    --------------------------------------------------- */
+
+    private Set<String> allowedDomains(Collection<String> seeds) {
+        Set<String> domains = new HashSet<>();
+        List<String> configured = properties.allowedDomains();
+
+        if (configured != null && !configured.isEmpty()) {
+            configured.forEach(d -> domains.add(d.toLowerCase(Locale.ROOT)));
+        } else {
+            for (String seed : seeds) {
+                String host = hostOf(seed);
+                if (host != null) domains.add(host);
+            }
+        }
+        return domains;
+    }
+
+    private static boolean isAllowedHost(String host, Set<String> allowedDomains) {
+        for (String domain : allowedDomains) {
+            if (host.equals(domain) || host.endsWith("." + domain)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? null : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+}
@@ -0,0 +1,200 @@
+package com.swiftseek.searchengine.crawler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * URL frontier with one priority queue per host.
+ *
+ * Hosts that have pending URLs and a free concurrency slot sit in a ready
+ * queue ordered by the earliest time they may be contacted again.
+ * {@link #next(long)} only hands out a URL once its host's crawl delay has
+ * elapsed and fewer than {@code perHostConcurrency} fetches are running
+ * against it, so politeness is enforced here rather than by the fetchers.
+ */
+public class CrawlFrontier {
+
+    private final int capacity;
+    private final int perHostConcurrency;
+    private final ToLongFunction<CrawlTask> crawlDelayMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private final Map<String, HostQueue> hosts = new HashMap<>();
+    private final PriorityQueue<HostQueue> ready =
+            new PriorityQueue<>(Comparator.comparingLong(h -> h.nextFetchAt));
+
+    private int pending;
+    private int inFlight;
+
+    public CrawlFrontier(int capacity, int perHostConcurrency, ToLongFunction<CrawlTask> crawlDelayMillis) {
+        this.capacity = capacity;
+        this.perHostConcurrency = Math.max(1, perHostConcurrency);
+        this.crawlDelayMillis = crawlDelayMillis;
+    }
+
+    /**
+     * Queues a task. Returns {@code false} if the frontier is full.
+     */
+    public boolean add(CrawlTask task) {
+        lock.lock();
+        try {
+            if (pending >= capacity) {
+                return false;
+            }
+            HostQueue host = hosts.computeIfAbsent(task.host(), HostQueue::new);
+            host.tasks.add(task);
+            pending++;
+            scheduleIfRunnable(host);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits up to {@code timeoutMillis} for a host to become due and returns
+     * its highest-priority task, or {@code null} on timeout. Every returned
+     * task must later be passed to {@link #done(CrawlTask)}.
+     */
+    public CrawlTask next(long timeoutMillis) throws InterruptedException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            while (true) {
+                HostQueue host = ready.peek();
+                long wait = remaining;
+                if (host != null) {
+                    long dueIn = TimeUnit.MILLISECONDS.toNanos(host.nextFetchAt - System.currentTimeMillis());
+                    if (dueIn <= 0) {
+                        return take(host);
+                    }
+                    wait = Math.min(wait, dueIn);
+                }
+                if (remaining <= 0) {
+                    return null;
+                }
+                long before = System.nanoTime();
+                changed.awaitNanos(wait);
+                remaining -= System.nanoTime() - before;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the host slot taken by {@link #next(long)}.
+     */
+    public void done(CrawlTask task) {
+        lock.lock();
+        try {
+            inFlight--;
+            HostQueue host = hosts.get(task.host());
+            if (host == null) {
+                return;
+            }
+            host.inFlight--;
+            if (host.tasks.isEmpty() && host.inFlight == 0) {
+                hosts.remove(host.host);
+            } else {
+                scheduleIfRunnable(host);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * True when nothing is queued and nothing is being fetched.
+     */
+    public boolean isIdle() {
+        lock.lock();
+        try {
+            return pending == 0 && inFlight == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns every queued task; tasks in flight are not
+     * affected.
+     */
+    public List<CrawlTask> drain() {
+        lock.lock();
+        try {
+            List<CrawlTask> drained = new ArrayList<>(pending);
+            for (HostQueue host : hosts.values()) {
+                drained.addAll(host.tasks);
+                host.tasks.clear();
+            }
+            ready.clear();
+            hosts.values().forEach(host -> host.scheduled = false);
+            hosts.values().removeIf(host -> host.inFlight == 0);
+            pending = 0;
+            changed.signalAll();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ---------------------------------------------------
+       INTERNALS (lock held)
+    --------------------------------------------------- */
+
+    private CrawlTask take(HostQueue host) {
+        ready.poll();
+        host.scheduled = false;
+
+        CrawlTask task = host.tasks.poll();
+        pending--;
+        inFlight++;
+        host.inFlight++;
+        host.nextFetchAt = System.currentTimeMillis() + crawlDelayMillis.applyAsLong(task);
+
+        scheduleIfRunnable(host);
+        return task;
+    }
+
+    private void scheduleIfRunnable(HostQueue host) {
+        if (!host.scheduled && !host.tasks.isEmpty() && host.inFlight < perHostConcurrency) {
+            host.scheduled = true;
+            ready.add(host);
+            changed.signalAll();
+        }
+    }
+
+    private static final class HostQueue {
+        private final String host;
+        private final PriorityQueue<CrawlTask> tasks =
+                new PriorityQueue<>(Comparator.comparingInt(CrawlTask::depth));
+        private long nextFetchAt;
+        private int inFlight;
+        private boolean scheduled;
+
+        private HostQueue(String host) {
+            this.host = host;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.swiftseek.searchengine.crawler;
+
+import java.util.List;
+
+/**
+ * A fetched page together with the absolute http(s) links found on it and
+ * the response's cache validators.
+ *
+ * A conditional request answered with {@code 304 Not Modified} has no page
+ * and no links.
+ */
+public record CrawlResult(CrawledPage page, List<String> links, String etag, String lastModified) {
+
+    public static CrawlResult notModified(String etag, String lastModified) {
+        return new CrawlResult(null, List.of(), etag, lastModified);
+    }
+
+    public boolean isNotModified() {
+        return page == null;
+    }
+}
@@ -6,12 +6,22 @@ import org.springframework.stereotype.Component;
 @Component
 public class CrawlScheduler {
 
-    @Scheduled(fixedDelay = 60000) // every 1 minute
-    public void scheduledCrawl() {
+    private final CrawlEngine crawlEngine;
+    private final CrawlerProperties properties;
+
+    public CrawlScheduler(CrawlEngine crawlEngine, CrawlerProperties properties) {
+        this.crawlEngine = crawlEngine;
+        this.properties = properties;
+    }
+
+    // the first run waits one interval: at startup IndexBootstrap fetches the seeds
+    @Scheduled(
+            initialDelayString = "${swiftseek.crawler.interval-ms:60000}",
+            fixedDelayString = "${swiftseek.crawler.interval-ms:60000}")
+    public void scheduledCrawl() throws InterruptedException {
 
         System.out.println("⏳ Scheduled crawl started");
 
-        WebCrawler.crawl("https://spring.io");
-        WebCrawler.crawl("https://www.oracle.com/java/");
+        crawlEngine.crawl(properties.seeds());
     }
 }
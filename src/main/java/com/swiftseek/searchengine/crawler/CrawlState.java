@@ -0,0 +1,33 @@
+package com.swiftseek.searchengine.crawler;
+
+/**
+ * What the crawler remembers about a page between visits.
+ *
+ * @param url           page URL as it was crawled
+ * @param depth         link hops from a seed when it was discovered
+ * @param etag          {@code ETag} of the last 200 response, sent back as
+ *                      {@code If-None-Match}; may be {@code null}
+ * @param lastModified  {@code Last-Modified} of the last 200 response, sent
+ *                      back as {@code If-Modified-Since}; may be {@code null}
+ * @param contentHash   hash of the extracted title and text
+ * @param lastFetched   epoch millis of the last successful visit
+ * @param lastChanged   epoch millis of the last visit that found new content
+ * @param lastIndexed   epoch millis of the last visit whose page was sent to
+ *                      the index, i.e. the {@code crawlTime} of the indexed copy
+ * @param revisitMillis wait before the next visit
+ */
+public record CrawlState(
+        String url,
+        int depth,
+        String etag,
+        String lastModified,
+        long contentHash,
+        long lastFetched,
+        long lastChanged,
+        long lastIndexed,
+        long revisitMillis) {
+
+    public long nextVisit() {
+        return lastFetched + revisitMillis;
+    }
+}
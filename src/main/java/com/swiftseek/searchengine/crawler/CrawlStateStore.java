@@ -0,0 +1,254 @@
+package com.swiftseek.searchengine.crawler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.swiftseek.searchengine.lucene.IndexProperties;
+import com.swiftseek.searchengine.util.UrlFingerprint;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Per-page {@link CrawlState}, keyed by normalized URL and bounded by
+ * {@code crawl-state-max-entries}.
+ *
+ * Revisit intervals adapt to how often a page changes: a visit that finds
+ * new content halves the interval (down to {@code min-revisit-minutes}), a
+ * visit that finds the same content ({@code 304}, or a 200 with the same
+ * hash) doubles it (up to {@code max-revisit-hours}). A page fetched once
+ * starts at {@code recrawl-after-hours}.
+ *
+ * An unchanged page is not re-indexed, so its indexed copy keeps the
+ * {@code crawlTime} of the visit that last sent it to the index. Once that
+ * copy is half the index {@code retention-days} old, the next visit skips
+ * the validators and re-indexes the page with a fresh {@code crawlTime};
+ * otherwise retention would eventually drop pages that never change.
+ *
+ * The state is snapshotted to disk periodically and on shutdown, and
+ * reloaded on startup, like the seen-set.
+ */
+@Component
+public class CrawlStateStore {
+
+    private static final int SNAPSHOT_MAGIC = 0x53574353; // "SWCS"
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final int MAX_SNAPSHOT_URL_LENGTH = 8192;
+
+    private final Cache<String, CrawlState> states;
+    private final long initialRevisitMillis;
+    private final long minRevisitMillis;
+    private final long maxRevisitMillis;
+    private final long reindexAfterMillis;
+    private final Path snapshotPath;
+
+    @Autowired
+    public CrawlStateStore(CrawlerProperties properties, IndexProperties indexProperties) {
+        this(properties, indexProperties.retentionDays() > 0
+                ? TimeUnit.DAYS.toMillis(indexProperties.retentionDays()) / 2
+                : Long.MAX_VALUE);
+    }
+
+    /**
+     * @param reindexAfterMillis age of the indexed copy after which an
+     *                           unchanged page is fetched in full and
+     *                           re-indexed
+     */
+    public CrawlStateStore(CrawlerProperties properties, long reindexAfterMillis) {
+        this.states = Caffeine.newBuilder()
+                .maximumSize(properties.crawlStateMaxEntries())
+                .build();
+        this.minRevisitMillis = TimeUnit.MINUTES.toMillis(properties.minRevisitMinutes());
+        this.maxRevisitMillis = Math.max(minRevisitMillis, TimeUnit.HOURS.toMillis(properties.maxRevisitHours()));
+        this.initialRevisitMillis = clamp(TimeUnit.HOURS.toMillis(properties.recrawlAfterHours()));
+        this.reindexAfterMillis = reindexAfterMillis;
+        String path = properties.crawlStateSnapshotPath();
+        this.snapshotPath = path == null || path.isBlank() ? null : Path.of(path);
+    }
+
+    public CrawlState get(String url) {
+        return states.getIfPresent(UrlFingerprint.normalize(url));
+    }
+
+    /**
+     * The state whose validators the next visit of {@code url} sends, or
+     * {@code null} for an unconditional fetch: for unknown pages, and for
+     * pages whose indexed copy is due to be refreshed (a {@code 304} would
+     * leave nothing to re-index).
+     */
+    public CrawlState validators(String url) {
+        CrawlState state = get(url);
+        return state == null || reindexDue(state, System.currentTimeMillis()) ? null : state;
+    }
+
+    /**
+     * How long to wait before visiting {@code url} again.
+     */
+    public long revisitMillis(String url) {
+        CrawlState state = get(url);
+        return state == null ? initialRevisitMillis : state.revisitMillis();
+    }
+
+    /**
+     * Records a successful visit and adapts the revisit interval. Returns
+     * {@code true} if the page needs to be (re-)indexed: its content is new
+     * or changed, or its indexed copy is due to be refreshed.
+     */
+    public boolean update(String url, int depth, CrawlResult result) {
+        long now = System.currentTimeMillis();
+        String key = UrlFingerprint.normalize(url);
+        CrawlState previous = states.getIfPresent(key);
+
+        if (previous == null) {
+            if (result.isNotModified()) {
+                return false; // state evicted while the request was in flight
+            }
+            states.put(key, new CrawlState(url, depth, result.etag(), result.lastModified(),
+                    contentHash(result.page()), now, now, now, initialRevisitMillis));
+            return true;
+        }
+
+        long hash = result.isNotModified() ? previous.contentHash() : contentHash(result.page());
+        boolean changed = hash != previous.contentHash();
+        boolean reindex = changed || (!result.isNotModified() && reindexDue(previous, now));
+
+        states.put(key, new CrawlState(
+                url,
+                Math.min(depth, previous.depth()),
+                result.etag() != null ? result.etag() : previous.etag(),
+                result.lastModified() != null ? result.lastModified() : previous.lastModified(),
+                hash,
+                now,
+                changed ? now : previous.lastChanged(),
+                reindex ? now : previous.lastIndexed(),
+                clamp(changed ? previous.revisitMillis() / 2 : previous.revisitMillis() * 2)));
+        return reindex;
+    }
+
+    private boolean reindexDue(CrawlState state, long now) {
+        return now - state.lastIndexed() >= reindexAfterMillis;
+    }
+
+    /**
+     * Known pages whose revisit time has come, most overdue first.
+     */
+    public List<CrawlState> due(int limit) {
+        long now = System.currentTimeMillis();
+        return states.asMap().values().stream()
+                .filter(state -> state.nextVisit() <= now)
+                .sorted(Comparator.comparingLong(CrawlState::nextVisit))
+                .limit(limit)
+                .toList();
+    }
+
+    public long size() {
+        return states.estimatedSize();
+    }
+
+    private long clamp(long revisitMillis) {
+        return Math.max(minRevisitMillis, Math.min(maxRevisitMillis, revisitMillis));
+    }
+
+    static long contentHash(CrawledPage page) {
+        return UrlFingerprint.hash(page.title() + '\n' + page.content());
+    }
+
+    /* ---------------------------------------------------
+       PERSISTENCE
+    --------------------------------------------------- */
+
+    @PostConstruct
+    public void load() {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) return;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotPath), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a crawl-state snapshot: " + snapshotPath);
+            }
+            int version = in.readInt();
+            if (version != 1 && version != SNAPSHOT_VERSION) {
+                throw new IOException("Unknown crawl-state snapshot version " + version + ": " + snapshotPath);
+            }
+            long loaded = 0;
+            while (in.readBoolean()) {
+                String url = in.readUTF();
+                int depth = in.readInt();
+                String etag = readNullable(in);
+                String lastModified = readNullable(in);
+                long contentHash = in.readLong();
+                long lastFetched = in.readLong();
+                long lastChanged = in.readLong();
+                // version 1 did not record it: the page was last indexed when it last changed
+                long lastIndexed = version == 1 ? lastChanged : in.readLong();
+                CrawlState state = new CrawlState(url, depth, etag, lastModified,
+                        contentHash, lastFetched, lastChanged, lastIndexed, in.readLong());
+                states.put(UrlFingerprint.normalize(state.url()), state);
+                loaded++;
+            }
+            System.out.println("🧠 Loaded crawl state for " + loaded + " pages from " + snapshotPath);
+        } catch (IOException e) {
+            System.err.println("❌ Ignoring unreadable crawl-state snapshot: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${swiftseek.crawler.seen-snapshot-interval-ms:300000}",
+            fixedDelayString = "${swiftseek.crawler.seen-snapshot-interval-ms:300000}")
+    @PreDestroy
+    public void snapshot() {
+        if (snapshotPath == null) return;
+        try {
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                for (CrawlState state : states.asMap().values()) {
+                    if (state.url().length() > MAX_SNAPSHOT_URL_LENGTH) continue;
+                    out.writeBoolean(true);
+                    out.writeUTF(state.url());
+                    out.writeInt(state.depth());
+                    writeNullable(out, state.etag());
+                    writeNullable(out, state.lastModified());
+                    out.writeLong(state.contentHash());
+                    out.writeLong(state.lastFetched());
+                    out.writeLong(state.lastChanged());
+                    out.writeLong(state.lastIndexed());
+                    out.writeLong(state.revisitMillis());
+                }
+                out.writeBoolean(false);
+            }
+            Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("❌ Failed to snapshot crawl state: " + e.getMessage());
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.swiftseek.searchengine.crawler;
+
+/**
+ * A URL waiting in the {@link CrawlFrontier}. Lower depth is crawled first.
+ */
+public record CrawlTask(String url, String host, int depth) {
+}
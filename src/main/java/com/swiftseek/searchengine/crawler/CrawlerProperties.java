@@ -0,0 +1,67 @@
+package com.swiftseek.searchengine.crawler;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Crawler settings, bound from {@code swiftseek.crawler.*}.
+ *
+ * @param seeds              URLs the scheduler starts every crawl run from
+ * @param maxDepth           link hops followed from a seed (seed = depth 0)
+ * @param maxPagesPerRun     hard stop for a single crawl run
+ * @param allowedDomains     domains (and their subdomains) links may lead to;
+ *                           empty means "stay on the seed hosts"
+ * @param maxConcurrency     fetches in flight across all hosts
+ * @param perHostConcurrency fetches in flight against any single host
+ * @param crawlDelayMs       minimum gap between two request starts on one host
+ * @param maxCrawlDelayMs    upper bound applied to a robots.txt Crawl-delay
+ * @param frontierCapacity   URLs waiting in the frontier before new links are dropped
+ * @param fetchTimeoutMs     connect + read timeout for a page fetch
+ * @param userAgent          User-Agent header sent with every request
+ * @param robotsCacheSize    sites whose robots.txt rules are kept in memory
+ * @param robotsTtlMinutes   how long a fetched robots.txt stays valid
+ * @param seenSetMaxEntries  URL fingerprints kept before the oldest are evicted
+ * @param recrawlAfterHours  revisit interval of a page fetched once (and of
+ *                           URLs without crawl state); later revisits adapt
+ * @param seenSetSnapshotPath file the seen-set is persisted to; blank disables it
+ * @param minRevisitMinutes  shortest revisit interval, for pages that change
+ *                           on every visit
+ * @param maxRevisitHours    longest revisit interval, for pages that never change
+ * @param crawlStateMaxEntries pages whose validators, content hash and revisit
+ *                           interval are remembered
+ * @param crawlStateSnapshotPath file the crawl state is persisted to; blank disables it
+ * @param maxBodyBytes       bytes of a response body read at most; the rest is
+ *                           not downloaded
+ * @param maxContentChars    characters of visible text kept per page
+ * @param allowedContentTypes MIME types that are parsed; anything else is
+ *                           skipped before its body is read
+ */
+@ConfigurationProperties("swiftseek.crawler")
+public record CrawlerProperties(
+        @DefaultValue({"https://spring.io", "https://www.oracle.com/java/"}) List<String> seeds,
+        @DefaultValue("2") int maxDepth,
+        @DefaultValue("5000") int maxPagesPerRun,
+        @DefaultValue List<String> allowedDomains,
+        @DefaultValue("64") int maxConcurrency,
+        @DefaultValue("2") int perHostConcurrency,
+        @DefaultValue("1000") long crawlDelayMs,
+        @DefaultValue("30000") long maxCrawlDelayMs,
+        @DefaultValue("100000") int frontierCapacity,
+        @DefaultValue("10000") int fetchTimeoutMs,
+        @DefaultValue("SwiftSeekBot/1.0 (+https://swiftseek.dev)") String userAgent,
+        @DefaultValue("10000") int robotsCacheSize,
+        @DefaultValue("60") int robotsTtlMinutes,
+        @DefaultValue("20000000") long seenSetMaxEntries,
+        @DefaultValue("24") int recrawlAfterHours,
+        @DefaultValue("data/crawler-seen.bin") String seenSetSnapshotPath,
+        @DefaultValue("60") int minRevisitMinutes,
+        @DefaultValue("720") int maxRevisitHours,
+        @DefaultValue("1000000") int crawlStateMaxEntries,
+        @DefaultValue("data/crawl-state.bin") String crawlStateSnapshotPath,
+        @DefaultValue("5242880") int maxBodyBytes,
+        @DefaultValue("100000") int maxContentChars,
+        @DefaultValue({"text/html", "application/xhtml+xml"}) Set<String> allowedContentTypes) {
+}
@@ -0,0 +1,99 @@
+package com.swiftseek.searchengine.crawler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.swiftseek.searchengine.util.OffHeapFingerprintTable;
+import com.swiftseek.searchengine.util.UrlFingerprint;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Default {@link UrlSeenSet}: 64-bit fingerprints of normalized URLs with
+ * the minute of the last visit, kept off-heap in an
+ * {@link OffHeapFingerprintTable} (12 bytes per URL, bounded by
+ * {@code seen-set-max-entries}).
+ *
+ * A URL becomes crawlable again once its last visit is older than its
+ * revisit interval ({@code recrawl-after-hours} unless the caller passes the
+ * page's own, see {@link CrawlStateStore}). The table is snapshotted to disk periodically
+ * and on shutdown, and reloaded on startup.
+ */
+@Component
+public class FingerprintSeenSet implements UrlSeenSet {
+
+    private final OffHeapFingerprintTable table;
+    private final int recrawlAfterMinutes;
+    private final Path snapshotPath;
+
+    public FingerprintSeenSet(CrawlerProperties properties) {
+        this.table = new OffHeapFingerprintTable(properties.seenSetMaxEntries());
+        this.recrawlAfterMinutes = (int) TimeUnit.HOURS.toMinutes(properties.recrawlAfterHours());
+        String path = properties.seenSetSnapshotPath();
+        this.snapshotPath = path == null || path.isBlank() ? null : Path.of(path);
+    }
+
+    @Override
+    public boolean markSeen(String url) {
+        return markSeenMinutes(url, recrawlAfterMinutes);
+    }
+
+    @Override
+    public boolean markSeen(String url, long revisitAfterMillis) {
+        return markSeenMinutes(url, (int) Math.min(Integer.MAX_VALUE, TimeUnit.MILLISECONDS.toMinutes(revisitAfterMillis)));
+    }
+
+    private boolean markSeenMinutes(String url, int revisitAfterMinutes) {
+        int now = nowMinutes();
+        return table.putIfAbsentOrOlder(UrlFingerprint.of(url), now, now - revisitAfterMinutes);
+    }
+
+    @Override
+    public void forget(String url) {
+        table.remove(UrlFingerprint.of(url));
+    }
+
+    @Override
+    public long size() {
+        return table.size();
+    }
+
+    private static int nowMinutes() {
+        return (int) TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+
+    /* ---------------------------------------------------
+       PERSISTENCE
+    --------------------------------------------------- */
+
+    @PostConstruct
+    public void load() {
+        if (snapshotPath == null) return;
+        try {
+            long loaded = table.readSnapshot(snapshotPath);
+            if (loaded > 0) {
+                System.out.println("🧠 Loaded " + loaded + " seen URLs from " + snapshotPath);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Ignoring unreadable seen-set snapshot: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${swiftseek.crawler.seen-snapshot-interval-ms:300000}",
+            fixedDelayString = "${swiftseek.crawler.seen-snapshot-interval-ms:300000}")
+    @PreDestroy
+    public void snapshot() {
+        if (snapshotPath == null) return;
+        try {
+            table.writeSnapshot(snapshotPath);
+        } catch (IOException e) {
+            System.err.println("❌ Failed to snapshot seen-set: " + e.getMessage());
+        }
+    }
+}
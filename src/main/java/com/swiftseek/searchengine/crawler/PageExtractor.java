@@ -0,0 +1,111 @@
+package com.swiftseek.searchengine.crawler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.StreamParser;
+
+/**
+ * Single streaming pass over an HTML page that pulls out the title, the
+ * visible text and the outlinks without building the whole DOM.
+ *
+ * Elements arrive from the {@link StreamParser} as their end tag is read.
+ * A finished block (paragraph, list item, heading, cell, ...) contributes
+ * its text, inline markup included, and is then dropped from the tree;
+ * scripts, styles and other invisible subtrees are dropped unread. Only the
+ * block being parsed is ever held, so memory follows the largest block
+ * (at most the fetched body), not the page.
+ *
+ * Text stops being collected at {@code maxChars} and links at
+ * {@code maxLinks}; once both budgets are used up the rest of the page is
+ * not read at all.
+ */
+final class PageExtractor {
+
+    /** Tags whose text is kept whole and that are dropped once read. */
+    private static final Set<String> BLOCKS = Set.of(
+            "address", "article", "aside", "blockquote", "body", "caption", "dd", "details", "div", "dl",
+            "dt", "fieldset", "figcaption", "figure", "footer", "form", "h1", "h2", "h3", "h4", "h5",
+            "h6", "header", "hr", "li", "main", "nav", "ol", "p", "pre", "section", "summary", "table",
+            "tbody", "td", "tfoot", "th", "thead", "tr", "ul");
+
+    /** Invisible or embedded content: dropped without looking at it. */
+    private static final Set<String> SKIPPED = Set.of(
+            "canvas", "embed", "iframe", "noscript", "object", "script", "style", "svg", "template");
+
+    record Extraction(String title, String text, List<String> links, boolean truncated) {
+    }
+
+    private PageExtractor() {
+    }
+
+    /**
+     * @throws java.io.UncheckedIOException if reading the page fails midway
+     */
+    static Extraction extract(StreamParser parser, int maxChars, int maxLinks) {
+        String title = "";
+        StringBuilder text = new StringBuilder(Math.min(maxChars, 1 << 13));
+        Set<String> links = new LinkedHashSet<>();
+        boolean truncated = false;
+
+        Iterator<Element> elements = parser.iterator();
+        while (elements.hasNext()) {
+            Element element = elements.next();
+            String tag = element.normalName();
+
+            if (SKIPPED.contains(tag)) {
+                element.remove();
+
+            } else if (tag.equals("title")) {
+                // not an SVG <title> tooltip
+                if (title.isEmpty() && element.parent() != null && element.parent().nameIs("head")) {
+                    title = element.text();
+                }
+                element.remove();
+
+            } else if (tag.equals("a")) {
+                // resolve now: a removed element has no base URI any more
+                if (links.size() < maxLinks) {
+                    String link = WebCrawler.normalizeLink(element.absUrl("href"));
+                    if (link != null) {
+                        links.add(link);
+                    }
+                }
+
+            } else if (BLOCKS.contains(tag)) {
+                if (text.length() < maxChars) {
+                    truncated |= append(text, element.text(), maxChars);
+                } else if (element.hasText()) {
+                    truncated = true;
+                }
+                element.remove();
+            }
+
+            if (text.length() >= maxChars && links.size() >= maxLinks) {
+                truncated = true;
+                parser.stop();
+                break;
+            }
+        }
+
+        return new Extraction(title, text.toString(), new ArrayList<>(links), truncated);
+    }
+
+    /** Appends {@code block} up to the budget; {@code true} if it was cut. */
+    private static boolean append(StringBuilder text, String block, int maxChars) {
+        if (block.isEmpty()) return false;
+        if (!text.isEmpty()) text.append(' ');
+
+        int room = maxChars - text.length();
+        if (block.length() <= room) {
+            text.append(block);
+            return false;
+        }
+        text.append(block, 0, Math.max(0, room));
+        return true;
+    }
+}
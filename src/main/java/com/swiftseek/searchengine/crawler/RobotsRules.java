@@ -0,0 +1,206 @@
+package com.swiftseek.searchengine.crawler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pre-compiled robots.txt rules for one site and one user agent.
+ *
+ * Matching follows RFC 9309: the longest matching Allow/Disallow pattern
+ * wins, Allow wins a tie, {@code *} matches any run of characters and a
+ * trailing {@code $} anchors the pattern to the end of the path.
+ */
+public final class RobotsRules {
+
+    public static final RobotsRules ALLOW_ALL = new RobotsRules(List.of(), -1);
+
+    private final List<Rule> rules;
+    private final long crawlDelayMillis;
+
+    private RobotsRules(List<Rule> rules, long crawlDelayMillis) {
+        this.rules = rules;
+        this.crawlDelayMillis = crawlDelayMillis;
+    }
+
+    /**
+     * Crawl-delay requested for our agent, or {@code -1} if none was given.
+     */
+    public long crawlDelayMillis() {
+        return crawlDelayMillis;
+    }
+
+    /**
+     * @param pathAndQuery URL path including the query string, e.g. {@code /a/b?x=1}
+     */
+    public boolean isAllowed(String pathAndQuery) {
+        if (pathAndQuery == null || pathAndQuery.isEmpty()) {
+            pathAndQuery = "/";
+        }
+        if (pathAndQuery.equals("/robots.txt")) {
+            return true;
+        }
+        // rules are sorted longest first, allow before disallow on equal length
+        for (Rule rule : rules) {
+            if (rule.matches(pathAndQuery)) {
+                return rule.allow;
+            }
+        }
+        return true;
+    }
+
+    /* ---------------------------------------------------
+       PARSING
+    --------------------------------------------------- */
+
+    /**
+     * Compiles the groups of {@code robotsTxt} that apply to {@code agentToken}
+     * (falling back to the {@code *} groups when none name us explicitly).
+     */
+    public static RobotsRules parse(String robotsTxt, String agentToken) {
+        if (robotsTxt == null || robotsTxt.isBlank()) {
+            return ALLOW_ALL;
+        }
+
+        String agent = productToken(agentToken);
+
+        List<Rule> specific = new ArrayList<>();
+        List<Rule> wildcard = new ArrayList<>();
+        long specificDelay = -1;
+        long wildcardDelay = -1;
+        boolean sawSpecificGroup = false;
+
+        boolean groupIsSpecific = false;
+        boolean groupIsWildcard = false;
+        boolean inAgentLines = false;
+
+        for (String rawLine : robotsTxt.split("\\R")) {
+            int comment = rawLine.indexOf('#');
+            String line = (comment >= 0 ? rawLine.substring(0, comment) : rawLine).trim();
+
+            int colon = line.indexOf(':');
+            if (colon <= 0) continue;
+
+            String key = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+
+            if (key.equals("user-agent")) {
+                if (!inAgentLines) {
+                    groupIsSpecific = false;
+                    groupIsWildcard = false;
+                    inAgentLines = true;
+                }
+                String ua = productToken(value);
+                if (ua.equals("*")) {
+                    groupIsWildcard = true;
+                } else if (!ua.isEmpty() && agent.equals(ua)) {
+                    groupIsSpecific = true;
+                    sawSpecificGroup = true;
+                }
+                continue;
+            }
+
+            inAgentLines = false;
+            if (!groupIsSpecific && !groupIsWildcard) continue;
+
+            switch (key) {
+                case "allow", "disallow" -> {
+                    if (value.isEmpty()) continue; // "Disallow:" with no path allows everything
+                    Rule rule = Rule.compile(value, key.equals("allow"));
+                    if (groupIsSpecific) specific.add(rule);
+                    if (groupIsWildcard) wildcard.add(rule);
+                }
+                case "crawl-delay" -> {
+                    long delay = parseDelay(value);
+                    if (groupIsSpecific) specificDelay = delay;
+                    if (groupIsWildcard) wildcardDelay = delay;
+                }
+                default -> { }
+            }
+        }
+
+        List<Rule> chosen = sawSpecificGroup ? specific : wildcard;
+        long delay = sawSpecificGroup ? specificDelay : wildcardDelay;
+
+        if (chosen.isEmpty() && delay < 0) {
+            return ALLOW_ALL;
+        }
+
+        chosen.sort(Comparator
+                .comparingInt((Rule r) -> r.length).reversed()
+                .thenComparing(r -> !r.allow));
+
+        return new RobotsRules(List.copyOf(chosen), delay);
+    }
+
+    /**
+     * RFC 9309 matches the product token only, case-insensitively:
+     * {@code SwiftSeekBot/1.0 (+url)} and {@code swiftseekbot} are the same
+     * agent, while {@code bot} or {@code seek} are not.
+     */
+    private static String productToken(String userAgent) {
+        return userAgent.trim().split("[/\\s]", 2)[0].toLowerCase(Locale.ROOT);
+    }
+
+    private static long parseDelay(String value) {
+        try {
+            double seconds = Double.parseDouble(value);
+            return seconds < 0 ? -1 : (long) (seconds * 1000);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /* ---------------------------------------------------
+       COMPILED PATTERN
+    --------------------------------------------------- */
+
+    private static final class Rule {
+
+        private final boolean allow;
+        private final int length;
+        private final String[] parts;
+        private final boolean anchored;
+
+        private Rule(boolean allow, int length, String[] parts, boolean anchored) {
+            this.allow = allow;
+            this.length = length;
+            this.parts = parts;
+            this.anchored = anchored;
+        }
+
+        static Rule compile(String pattern, boolean allow) {
+            boolean anchored = pattern.endsWith("$");
+            String body = anchored ? pattern.substring(0, pattern.length() - 1) : pattern;
+            return new Rule(allow, pattern.length(), body.split("\\*", -1), anchored);
+        }
+
+        /**
+         * Glob match: parts[0] is a prefix, the middle parts appear in order
+         * (leftmost first) and, when anchored, the last part ends the path.
+         */
+        boolean matches(String path) {
+            if (!path.startsWith(parts[0])) {
+                return false;
+            }
+            if (parts.length == 1) {
+                return !anchored || path.length() == parts[0].length();
+            }
+
+            int pos = parts[0].length();
+            int last = parts.length - 1;
+            for (int i = 1; i < last; i++) {
+                int found = path.indexOf(parts[i], pos);
+                if (found < 0) return false;
+                pos = found + parts[i].length();
+            }
+
+            String tail = parts[last];
+            if (anchored) {
+                return path.length() - tail.length() >= pos && path.endsWith(tail);
+            }
+            return path.indexOf(tail, pos) >= 0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.swiftseek.searchengine.crawler;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+/**
+ * Per-site cache of compiled {@link RobotsRules}.
+ *
+ * Entries are keyed by {@code scheme://host[:port]}, expire after the
+ * configured TTL and are evicted once the configured number of sites is
+ * exceeded. Concurrent lookups for a site that is not cached yet wait on a
+ * single robots.txt download.
+ */
+@Component
+public class RobotsTxtCache {
+
+    private static final int MAX_ROBOTS_BYTES = 512 * 1024;
+
+    private final CrawlerProperties properties;
+    private final String agentToken;
+    private final LoadingCache<String, RobotsRules> cache;
+
+    public RobotsTxtCache(CrawlerProperties properties) {
+        this.properties = properties;
+        this.agentToken = properties.userAgent().split("[/ ]", 2)[0];
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.robotsCacheSize())
+                .expireAfterWrite(Duration.ofMinutes(properties.robotsTtlMinutes()))
+                .build(this::load);
+    }
+
+    public boolean isAllowed(String targetUrl) {
+        try {
+            URI uri = URI.create(targetUrl);
+            String origin = originOf(uri);
+            if (origin == null) {
+                return true;
+            }
+            String path = uri.getRawPath();
+            if (uri.getRawQuery() != null) {
+                path = path + "?" + uri.getRawQuery();
+            }
+            return cache.get(origin).isAllowed(path);
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Crawl-delay the site asked for, or {@code -1} if it did not ask or its
+     * robots.txt has not been fetched yet. Never triggers a download, so it is
+     * safe to call while holding the frontier lock.
+     */
+    public long crawlDelayMillis(String targetUrl) {
+        try {
+            String origin = originOf(URI.create(targetUrl));
+            RobotsRules rules = origin == null ? null : cache.getIfPresent(origin);
+            return rules == null ? -1 : rules.crawlDelayMillis();
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private RobotsRules load(String origin) {
+        try {
+            Connection.Response response = Jsoup.connect(origin + "/robots.txt")
+                    .userAgent(properties.userAgent())
+                    .timeout(5000)
+                    .maxBodySize(MAX_ROBOTS_BYTES)
+                    .ignoreHttpErrors(true)
+                    .ignoreContentType(true)
+                    .execute();
+
+            if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                return RobotsRules.parse(response.body(), agentToken);
+            }
+            return RobotsRules.ALLOW_ALL; // no robots.txt → allowed
+
+        } catch (Exception e) {
+            return RobotsRules.ALLOW_ALL; // fail-open (industry practice)
+        }
+    }
+
+    private static String originOf(URI uri) {
+        if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+            return null;
+        }
+        return uri.getScheme().toLowerCase(Locale.ROOT) + "://" + uri.getRawAuthority().toLowerCase(Locale.ROOT);
+    }
+}
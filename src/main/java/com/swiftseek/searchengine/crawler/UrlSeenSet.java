@@ -0,0 +1,30 @@
+package com.swiftseek.searchengine.crawler;
+
+/**
+ * Remembers which URLs the crawler has already scheduled.
+ *
+ * Implementations decide how URLs are identified (exact string, normalized
+ * fingerprint, ...) and when a visit is old enough to allow a recrawl.
+ */
+public interface UrlSeenSet {
+
+    /**
+     * Records {@code url} as visited now. Returns {@code true} if it had not
+     * been seen before or its previous visit has expired, i.e. the caller
+     * should crawl it.
+     */
+    boolean markSeen(String url);
+
+    /**
+     * Like {@link #markSeen(String)}, but the previous visit only expires
+     * after {@code revisitAfterMillis} (the page's own revisit interval).
+     */
+    boolean markSeen(String url, long revisitAfterMillis);
+
+    /**
+     * Forgets {@code url}, e.g. when it could not be queued after all.
+     */
+    void forget(String url);
+
+    long size();
+}
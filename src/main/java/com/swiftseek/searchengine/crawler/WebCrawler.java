@@ -1,54 +1,181 @@
 package com.swiftseek.searchengine.crawler;
 
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.net.URI;
+import java.util.Locale;
 
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
+import org.jsoup.parser.StreamParser;
+import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Component
 public class WebCrawler {
 
-    private static final Set<String> visitedUrls = ConcurrentHashMap.newKeySet();
+    private static final int MAX_LINKS_PER_PAGE = 500;
 
-    public static CrawledPage crawl(String url) {
+    private final CrawlerProperties properties;
+    private final RobotsTxtCache robotsTxtCache;
 
-        // Prevent duplicate crawling
-        if (!visitedUrls.add(url)) {
-            return null;
-        }
+    // 🔹 swiftseek.crawler.fetches{result=fetched|not-modified|blocked|skipped|failed} + fetch latency
+    private final Counter fetched;
+    private final Counter notModified;
+    private final Counter blocked;
+    private final Counter skipped;
+    private final Counter failed;
+    private final Counter truncated;
+    private final Timer fetchTimer;
+
+    public WebCrawler(CrawlerProperties properties, RobotsTxtCache robotsTxtCache, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.robotsTxtCache = robotsTxtCache;
+        this.fetched = fetchCounter(meterRegistry, "fetched");
+        this.notModified = fetchCounter(meterRegistry, "not-modified");
+        this.blocked = fetchCounter(meterRegistry, "blocked");
+        this.skipped = fetchCounter(meterRegistry, "skipped");
+        this.failed = fetchCounter(meterRegistry, "failed");
+        this.truncated = Counter.builder("swiftseek.crawler.truncated")
+                .description("Pages whose text or links were cut at the extraction budget")
+                .register(meterRegistry);
+        this.fetchTimer = Timer.builder("swiftseek.crawler.fetch")
+                .description("Page fetch and parse time")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static Counter fetchCounter(MeterRegistry registry, String result) {
+        return Counter.builder("swiftseek.crawler.fetches")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Fetches a single URL and extracts its outlinks. Returns {@code null} if
+     * robots.txt forbids the URL, the response is not HTML or the fetch fails.
+     *
+     * At most {@code max-body-bytes} of the body are read, and it is parsed
+     * in one streaming pass ({@link PageExtractor}) that keeps at most
+     * {@code max-content-chars} of text, so a huge page costs no more memory
+     * than a large one.
+     */
+    public CrawlResult fetch(String url) {
+        return fetch(url, null);
+    }
+
+    /**
+     * Like {@link #fetch(String)}, but sends the validators of a
+     * {@code previous} visit, so an unchanged page costs a bodiless
+     * {@code 304} ({@link CrawlResult#isNotModified()}).
+     */
+    public CrawlResult fetch(String url, CrawlState previous) {
 
         // Robots.txt check
-        if (!RobotsTxtUtil.isAllowed(url)) {
+        if (!robotsTxtCache.isAllowed(url)) {
             System.out.println("🚫 Blocked by robots.txt: " + url);
+            blocked.increment();
             return null;
         }
 
+        Timer.Sample sample = Timer.start();
         try {
-            Document doc = Jsoup.connect(url)
-                    .userAgent("SwiftSeekBot/1.0 (+https://swiftseek.dev)")
-                    .timeout(10_000)
-                    .ignoreHttpErrors(true)
-                    .get();
-
-            String title = doc.title();
-            String content = doc.body().text();
-            String domain = doc.location()
-                    .replaceFirst("https?://", "")
-                    .split("/")[0];
+            Connection connection = Jsoup.connect(url)
+                    .userAgent(properties.userAgent())
+                    .timeout(properties.fetchTimeoutMs())
+                    .maxBodySize(properties.maxBodyBytes())
+                    .ignoreContentType(true)
+                    .ignoreHttpErrors(true);
+            if (previous != null && previous.etag() != null) {
+                connection.header("If-None-Match", previous.etag());
+            }
+            if (previous != null && previous.lastModified() != null) {
+                connection.header("If-Modified-Since", previous.lastModified());
+            }
 
-            long crawlTime = System.currentTimeMillis();
+            Connection.Response response = connection.execute();
+            String etag = response.header("ETag");
+            String lastModified = response.header("Last-Modified");
+            if (response.statusCode() == 304) {
+                notModified.increment();
+                return CrawlResult.notModified(etag, lastModified);
+            }
+            if (!isHtml(response.contentType())) {
+                // PDFs, images, feeds, ...: hang up without reading the body
+                response.bodyStream().close();
+                skipped.increment();
+                return null;
+            }
 
-            System.out.println("✅ Crawled: " + url);
+            PageExtractor.Extraction extraction;
+            try (StreamParser parser = response.streamParser()) {
+                extraction = PageExtractor.extract(parser, properties.maxContentChars(), MAX_LINKS_PER_PAGE);
+            }
+            if (extraction.truncated()) {
+                truncated.increment();
+            }
+
+            String domain = response.url().getAuthority();
+
+            long crawlTime = System.currentTimeMillis();
 
-            return new CrawledPage(
-                    title,
+            CrawledPage page = new CrawledPage(
+                    extraction.title(),
                     url,
-                    content,
+                    extraction.text(),
                     domain,
                     crawlTime);
 
+            CrawlResult result = new CrawlResult(page, extraction.links(), etag, lastModified);
+            fetched.increment();
+            return result;
+
         } catch (Exception e) {
             System.err.println("❌ Failed to crawl: " + url);
+            failed.increment();
+            return null;
+        } finally {
+            sample.stop(fetchTimer);
+        }
+    }
+
+    /**
+     * Convenience for one-off fetches that only need the page.
+     */
+    public CrawledPage crawl(String url) {
+        CrawlResult result = fetch(url);
+        return result == null ? null : result.page();
+    }
+
+    /* ---------------------------------------------------
+       CONTENT TYPE + LINKS
+    --------------------------------------------------- */
+
+    /**
+     * Whether the response is one of {@code allowed-content-types}; a
+     * missing Content-Type is given the benefit of the doubt.
+     */
+    boolean isHtml(String contentType) {
+        if (contentType == null || contentType.isBlank()) return true;
+        String mimeType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        return properties.allowedContentTypes().contains(mimeType);
+    }
+
+    /**
+     * Keeps http(s) links only and drops the #fragment.
+     */
+    static String normalizeLink(String href) {
+        if (href == null || href.isEmpty()) return null;
+
+        int hash = href.indexOf('#');
+        if (hash >= 0) href = href.substring(0, hash);
+
+        if (!href.startsWith("http://") && !href.startsWith("https://")) return null;
+
+        try {
+            return URI.create(href).getHost() == null ? null : href;
+        } catch (IllegalArgumentException e) {
             return null;
         }
     }
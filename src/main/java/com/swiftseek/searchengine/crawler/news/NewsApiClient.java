@@ -1,25 +1,124 @@
 package com.swiftseek.searchengine.crawler.news;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.swiftseek.searchengine.util.CircuitBreaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * NewsAPI {@code /v2/everything} client.
+ *
+ * Every call has a connect and a read timeout and goes through a
+ * {@link CircuitBreaker}: after {@code failure-threshold} consecutive
+ * failures NewsAPI is left alone for {@code open-ms}, and calls fail
+ * immediately with {@link NewsUnavailableException} instead of piling up.
+ *
+ * The key comes from {@code swiftseek.news.api-key} (for example the
+ * {@code SWIFTSEEK_NEWS_API_KEY} environment variable). Without one, every
+ * fetch is answered as unavailable and NewsAPI is never called.
+ */
 @Service
 public class NewsApiClient {
 
-    private static final String API_KEY = "ac33f47adb724785bb1dcc4d03a5a686";
-    private static final String API_URL = "https://newsapi.org/v2/everything?q=%s&language=en&pageSize=10&apiKey=%s";
+    private static final String API_PATH = "/v2/everything?q={q}&language=en&pageSize=10&apiKey={key}";
+
+    private final RestTemplate restTemplate;
+    private final String apiUrl;
+    private final String apiKey;
+    private final CircuitBreaker circuitBreaker;
+
+    // 🔹 swiftseek.news.fetches{result=ok|failed|circuit-open|no-api-key} + fetch latency
+    private final Counter ok;
+    private final Counter failed;
+    private final Counter circuitOpen;
+    private final Counter noApiKey;
+    private final Timer fetchTimer;
+
+    public NewsApiClient(
+            MeterRegistry meterRegistry,
+            @Value("${swiftseek.news.base-url:https://newsapi.org}") String baseUrl,
+            @Value("${swiftseek.news.api-key:}") String apiKey,
+            @Value("${swiftseek.news.connect-timeout-ms:1000}") long connectTimeoutMs,
+            @Value("${swiftseek.news.read-timeout-ms:2500}") long readTimeoutMs,
+            @Value("${swiftseek.news.breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${swiftseek.news.breaker.open-ms:30000}") long openMs) {
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(connectTimeoutMs));
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        this.apiUrl = baseUrl + API_PATH;
+        this.apiKey = apiKey;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMs);
+
+        this.ok = fetchCounter(meterRegistry, "ok");
+        this.failed = fetchCounter(meterRegistry, "failed");
+        this.circuitOpen = fetchCounter(meterRegistry, "circuit-open");
+        this.noApiKey = fetchCounter(meterRegistry, "no-api-key");
+        this.fetchTimer = Timer.builder("swiftseek.news.fetch")
+                .description("NewsAPI request time")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("swiftseek.news.circuit.open", circuitBreaker,
+                        breaker -> breaker.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .register(meterRegistry);
+
+        if (apiKey.isBlank()) {
+            System.out.println("ℹ️ swiftseek.news.api-key is not set, news fetching is disabled");
+        }
+    }
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private static Counter fetchCounter(MeterRegistry registry, String result) {
+        return Counter.builder("swiftseek.news.fetches")
+                .tag("result", result)
+                .register(registry);
+    }
 
+    /**
+     * Fetches the latest articles for {@code query}.
+     *
+     * @throws NewsUnavailableException if no API key is configured, the
+     *                                  circuit is open or the call fails or
+     *                                  times out
+     */
     public List<NewsArticle> fetchNews(String query) {
 
-        String url = String.format(API_URL, query, API_KEY);
+        if (apiKey.isBlank()) {
+            noApiKey.increment();
+            throw new NewsUnavailableException("NewsAPI key is not configured");
+        }
 
-        NewsApiResponse response = restTemplate.getForObject(url, NewsApiResponse.class);
+        if (!circuitBreaker.tryAcquire()) {
+            circuitOpen.increment();
+            throw new NewsUnavailableException("NewsAPI circuit is open");
+        }
+
+        NewsApiResponse response;
+        Timer.Sample sample = Timer.start();
+        try {
+            response = restTemplate.getForObject(apiUrl, NewsApiResponse.class, query, apiKey);
+            circuitBreaker.onSuccess();
+            ok.increment();
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            failed.increment();
+            throw new NewsUnavailableException("NewsAPI request failed: " + e.getMessage(), e);
+        } finally {
+            sample.stop(fetchTimer);
+        }
 
         List<NewsArticle> articles = new ArrayList<>();
 
@@ -40,4 +139,8 @@ public class NewsApiClient {
 
         return articles;
     }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
 }
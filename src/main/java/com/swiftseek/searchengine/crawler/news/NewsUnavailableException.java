@@ -0,0 +1,16 @@
+package com.swiftseek.searchengine.crawler.news;
+
+/**
+ * NewsAPI could not be asked: the call failed or timed out, or the circuit
+ * breaker is open. News is optional enrichment, so callers log and move on.
+ */
+public class NewsUnavailableException extends RuntimeException {
+
+    public NewsUnavailableException(String message) {
+        super(message);
+    }
+
+    public NewsUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,108 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line import of local dump files:
+ *
+ * <pre>
+ * java -jar searchengine.jar --import=dumps/ --import=extra.ndjson.gz
+ * </pre>
+ *
+ * Every {@code --import} names an NDJSON file or a directory of them
+ * ({@code .ndjson}, {@code .jsonl}, optionally gzipped). The files are
+ * imported one after the other through {@link BulkIngester}, then the
+ * application exits: 0 when every file was read, 1 otherwise. Without
+ * {@code --import} this runner does nothing.
+ */
+@Component
+public class BulkImportRunner implements ApplicationRunner {
+
+    public static final String IMPORT_OPTION = "import";
+
+    private final BulkIngester bulkIngester;
+    private final ConfigurableApplicationContext context;
+
+    public BulkImportRunner(BulkIngester bulkIngester, ConfigurableApplicationContext context) {
+        this.bulkIngester = bulkIngester;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(IMPORT_OPTION)) {
+            return;
+        }
+
+        boolean ok = true;
+        for (String location : args.getOptionValues(IMPORT_OPTION)) {
+            try {
+                for (Path file : dumpFiles(Path.of(location))) {
+                    ok &= importFile(file);
+                }
+            } catch (IOException e) {
+                System.err.println("❌ Cannot list import location " + location + ": " + e.getMessage());
+                ok = false;
+            }
+        }
+
+        int exitCode = ok ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    /** Imports one file; {@code false} if it could not be read to the end. */
+    public boolean importFile(Path file) {
+        System.out.println("📥 Importing " + file);
+        try (InputStream in = open(file)) {
+            BulkResult result = bulkIngester.ingest(in);
+            System.out.println("✅ " + file + ": " + result.accepted() + " accepted ("
+                    + result.updated() + " updated), " + result.rejected() + " rejected in "
+                    + result.tookMillis() + " ms");
+            result.errors().forEach(error -> System.err.println("   ⚠️ " + error));
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ Import of " + file + " failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static InputStream open(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, 1 << 16) : in;
+    }
+
+    static List<Path> dumpFiles(Path location) throws IOException {
+        if (!Files.isDirectory(location)) {
+            return List.of(location);
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> entries = Files.list(location)) {
+            entries.filter(Files::isRegularFile)
+                    .filter(BulkImportRunner::isDumpFile)
+                    .sorted()
+                    .forEach(files::add);
+        }
+        return files;
+    }
+
+    private static boolean isDumpFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl");
+    }
+}
@@ -0,0 +1,16 @@
+package com.swiftseek.searchengine.lucene;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * All bulk import slots are taken. Reported as 429 so the client retries
+ * later instead of piling another stream onto the index writers.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class BulkIngestBusyException extends RuntimeException {
+
+    public BulkIngestBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,295 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Bulk import of NDJSON page/article records ({@link BulkRecord}, one per
+ * line), for backfills that would take forever through the crawler.
+ *
+ * The input is read incrementally: only the current line (at most
+ * {@code max-record-bytes}) and the current batch are in memory. A batch
+ * is flushed at {@code batch-size} records or once its records add up to
+ * {@code max-batch-bytes}, whichever comes first, so a run of large
+ * articles cannot hold thousands of megabyte-sized records at once. Each
+ * batch is written straight into the index
+ * writers on the calling thread before more input is read, so a client
+ * that sends faster than the index can absorb is slowed down by TCP
+ * backpressure instead of filling a queue. At most {@code max-concurrent}
+ * imports run at once; the whole import is committed at the end.
+ *
+ * A bad line (malformed JSON, missing URL, past retention, ...) only
+ * rejects that record. Importing the same URL again replaces the document,
+ * so a failed import can simply be retried.
+ */
+@Component
+public class BulkIngester {
+
+    private final LuceneIndexer luceneIndexer;
+    private final LuceneIndexManager indexManager;
+    private final ObjectReader recordReader;
+    private final int batchSize;
+    private final int maxRecordBytes;
+    private final long maxBatchBytes;
+    private final int maxErrors;
+    private final Semaphore slots;
+
+    // 🔹 swiftseek.bulk.records{result=created|updated|rejected} + batch write time
+    private final Counter created;
+    private final Counter updated;
+    private final Counter rejected;
+    private final Timer batchTimer;
+
+    public BulkIngester(
+            LuceneIndexer luceneIndexer,
+            LuceneIndexManager indexManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${swiftseek.bulk.batch-size:5000}") int batchSize,
+            @Value("${swiftseek.bulk.max-record-bytes:1048576}") int maxRecordBytes,
+            @Value("${swiftseek.bulk.max-batch-bytes:33554432}") long maxBatchBytes,
+            @Value("${swiftseek.bulk.max-errors:100}") int maxErrors,
+            @Value("${swiftseek.bulk.max-concurrent:2}") int maxConcurrent) {
+
+        this.luceneIndexer = luceneIndexer;
+        this.indexManager = indexManager;
+        this.recordReader = objectMapper.readerFor(BulkRecord.class);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxRecordBytes = Math.max(1, maxRecordBytes);
+        this.maxBatchBytes = Math.max(1, maxBatchBytes);
+        this.maxErrors = Math.max(0, maxErrors);
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+
+        this.created = recordCounter(meterRegistry, "created");
+        this.updated = recordCounter(meterRegistry, "updated");
+        this.rejected = recordCounter(meterRegistry, "rejected");
+        this.batchTimer = Timer.builder("swiftseek.bulk.batch")
+                .description("Time to write one bulk batch into the index writers")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter recordCounter(MeterRegistry registry, String result) {
+        return Counter.builder("swiftseek.bulk.records")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Imports every record of {@code ndjson} and commits. The stream is read
+     * to the end but not closed.
+     *
+     * @throws BulkIngestBusyException if {@code max-concurrent} imports are
+     *                                 already running
+     */
+    public BulkResult ingest(InputStream ndjson) throws IOException {
+        if (!slots.tryAcquire()) {
+            throw new BulkIngestBusyException("Too many bulk imports running, retry later");
+        }
+        try {
+            return new Import().run(new LineReader(ndjson, maxRecordBytes));
+        } finally {
+            slots.release();
+        }
+    }
+
+    /** Counters for one {@link #ingest} call. */
+    private final class Import {
+
+        private final List<IndexRequest> batch = new ArrayList<>(batchSize);
+        private final List<String> errors = new ArrayList<>();
+        /** Raw NDJSON size of the records in {@link #batch}. */
+        private long batchBytes;
+        private long accepted;
+        private long replaced;
+        private long refused;
+
+        BulkResult run(LineReader lines) throws IOException {
+            long start = System.currentTimeMillis();
+            long lineNumber = 0;
+
+            while (lines.next()) {
+                lineNumber++;
+                if (lines.length == 0) continue;
+
+                if (lines.oversized) {
+                    reject(lineNumber, "record is larger than " + maxRecordBytes + " bytes");
+                    continue;
+                }
+                try {
+                    BulkRecord record = recordReader.readValue(lines.line, 0, lines.length);
+                    if (record == null) {
+                        reject(lineNumber, "not a JSON object");
+                        continue;
+                    }
+                    IndexRequest request = record.toIndexRequest(System.currentTimeMillis());
+                    if (indexManager.isExpired(request.timestamp())) {
+                        reject(lineNumber, "timestamp is past retention");
+                        continue;
+                    }
+                    batch.add(request);
+                    batchBytes += lines.length;
+                } catch (JacksonException e) {
+                    reject(lineNumber, "malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    reject(lineNumber, e.getMessage());
+                    continue;
+                }
+                if (batch.size() >= batchSize || batchBytes >= maxBatchBytes) {
+                    flush();
+                }
+            }
+            flush();
+            indexManager.commit();
+
+            return new BulkResult(accepted, replaced, refused, List.copyOf(errors),
+                    System.currentTimeMillis() - start);
+        }
+
+        private void reject(long lineNumber, String reason) {
+            refused++;
+            rejected.increment();
+            if (errors.size() < maxErrors) {
+                errors.add("line " + lineNumber + ": " + reason);
+            }
+        }
+
+        private void flush() throws IOException {
+            if (batch.isEmpty()) return;
+
+            long start = System.nanoTime();
+            if (accepted > 0) {
+                // make the earlier batches of this import visible, or a URL
+                // repeated across batches would be counted as created twice
+                indexManager.refresh();
+            }
+            int existing = countExisting(batch);
+            luceneIndexer.indexBatch(batch);
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            accepted += batch.size();
+            replaced += existing;
+            created.increment(batch.size() - existing);
+            updated.increment(existing);
+            batch.clear();
+            batchBytes = 0;
+        }
+    }
+
+    /**
+     * Records whose URL is already searchable, or appears earlier in the
+     * same batch (only the last copy is written).
+     */
+    private int countExisting(List<IndexRequest> requests) throws IOException {
+        int existing = 0;
+        Set<String> urls = new HashSet<>();
+        IndexSearcher searcher = indexManager.acquire();
+        try {
+            IndexReader reader = searcher.getIndexReader();
+            for (IndexRequest request : requests) {
+                if (!urls.add(request.url()) || reader.docFreq(new Term("id", request.url())) > 0) {
+                    existing++;
+                }
+            }
+        } finally {
+            indexManager.release(searcher);
+        }
+        return existing;
+    }
+
+    /* ---------------------------------------------------
+       LINE READER
+    --------------------------------------------------- */
+
+    /**
+     * Splits a byte stream into lines without decoding or copying more than
+     * one line. A line longer than {@code maxBytes} is consumed but only
+     * flagged as {@link #oversized}, so one huge record cannot exhaust memory.
+     */
+    static final class LineReader {
+
+        private final InputStream in;
+        private final int maxBytes;
+        private final byte[] chunk = new byte[1 << 16];
+        private int pos;
+        private int limit;
+
+        byte[] line = new byte[1 << 12];
+        int length;
+        boolean oversized;
+
+        LineReader(InputStream in, int maxBytes) {
+            this.in = in;
+            this.maxBytes = maxBytes;
+        }
+
+        /** Advances to the next line; {@code false} at the end of the input. */
+        boolean next() throws IOException {
+            length = 0;
+            oversized = false;
+            boolean started = false;
+
+            while (true) {
+                if (pos == limit) {
+                    int read = in.read(chunk);
+                    if (read <= 0) {
+                        pos = limit = 0;
+                        return started;
+                    }
+                    pos = 0;
+                    limit = read;
+                }
+                started = true;
+
+                int from = pos;
+                while (pos < limit && chunk[pos] != '\n') {
+                    pos++;
+                }
+                append(from, pos - from);
+                if (pos < limit) {
+                    pos++; // the '\n'
+                    if (!oversized && length > 0 && line[length - 1] == '\r') {
+                        length--;
+                    }
+                    return true;
+                }
+            }
+        }
+
+        private void append(int from, int count) {
+            if (oversized || count == 0) return;
+            if (length + count > maxBytes) {
+                oversized = true;
+                length = 1; // not a blank line
+                return;
+            }
+            if (length + count > line.length) {
+                line = Arrays.copyOf(line, Math.min(maxBytes, Math.max(length + count, line.length * 2)));
+            }
+            System.arraycopy(chunk, from, line, length, count);
+            length += count;
+        }
+    }
+}
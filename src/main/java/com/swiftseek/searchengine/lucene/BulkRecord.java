@@ -0,0 +1,72 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.net.URI;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * One line of a bulk NDJSON import. Accepts both page records
+ * ({@code domain}, {@code crawlTime}) and article records ({@code source},
+ * {@code publishedTime} or an ISO-8601 {@code publishedAt}); unknown fields
+ * are ignored.
+ */
+public record BulkRecord(
+        String title,
+        String url,
+        String content,
+        String domain,
+        String source,
+        Long timestamp,
+        Long crawlTime,
+        Long publishedTime,
+        String publishedAt) {
+
+    /**
+     * @param now timestamp for records that carry none
+     * @throws IllegalArgumentException if the record cannot be indexed
+     */
+    IndexRequest toIndexRequest(long now) {
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("url is missing");
+        }
+        URI uri;
+        try {
+            uri = URI.create(url.strip());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("url is not a valid URI");
+        }
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())
+                || uri.getHost() == null) {
+            throw new IllegalArgumentException("url must be an absolute http(s) URL");
+        }
+        if (isBlank(title) && isBlank(content)) {
+            throw new IllegalArgumentException("title and content are both empty");
+        }
+
+        String site = !isBlank(domain) ? domain : !isBlank(source) ? source : uri.getHost();
+        return new IndexRequest(
+                title == null ? "" : title,
+                url.strip(),
+                content == null ? "" : content,
+                site,
+                time(now));
+    }
+
+    private long time(long now) {
+        if (timestamp != null) return timestamp;
+        if (crawlTime != null) return crawlTime;
+        if (publishedTime != null) return publishedTime;
+        if (publishedAt != null) {
+            try {
+                return Instant.parse(publishedAt).toEpochMilli();
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("publishedAt is not an ISO-8601 instant");
+            }
+        }
+        return now;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,21 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.util.List;
+
+/**
+ * Outcome of one bulk import.
+ *
+ * @param accepted records written to the index (new and updated)
+ * @param updated  accepted records whose URL was already searchable, i.e.
+ *                 that replaced an existing document
+ * @param rejected records that were malformed, invalid or past retention
+ * @param errors   the first few rejections as {@code line N: reason}
+ * @param tookMillis wall-clock time including the final commit
+ */
+public record BulkResult(
+        long accepted,
+        long updated,
+        long rejected,
+        List<String> errors,
+        long tookMillis) {
+}
@@ -0,0 +1,126 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.Scorable;
+import org.apache.lucene.search.ScoreMode;
+
+/**
+ * Counts the {@code domain} and {@code day} doc values of every matching
+ * document. Meant to run next to the top-docs collector in a
+ * {@code MultiCollectorManager}, so facets cost no extra query.
+ *
+ * Counting is done per segment on ordinals in a plain {@code int[]}; only
+ * ordinals that were hit are resolved to strings, once per segment when
+ * the segment is finished.
+ */
+final class FacetCollectorManager implements CollectorManager<FacetCollectorManager.FacetCollector, SearchFacets> {
+
+    static final String DOMAIN_FIELD = "domain";
+    static final String DAY_FIELD = "day";
+
+    private final int topDomains;
+    private final int maxDays;
+
+    FacetCollectorManager(int topDomains, int maxDays) {
+        this.topDomains = topDomains;
+        this.maxDays = maxDays;
+    }
+
+    @Override
+    public FacetCollector newCollector() {
+        return new FacetCollector();
+    }
+
+    @Override
+    public SearchFacets reduce(Collection<FacetCollector> collectors) {
+        Map<String, Long> domains = new HashMap<>();
+        Map<String, Long> days = new HashMap<>();
+        for (FacetCollector collector : collectors) {
+            collector.domains.forEach((value, count) -> domains.merge(value, count, Long::sum));
+            collector.days.forEach((value, count) -> days.merge(value, count, Long::sum));
+        }
+
+        return new SearchFacets(
+                top(domains, Comparator.comparingLong(FacetCount::count).reversed()
+                        .thenComparing(FacetCount::value), topDomains),
+                top(days, Comparator.comparing(FacetCount::value).reversed(), maxDays));
+    }
+
+    private static List<FacetCount> top(Map<String, Long> counts, Comparator<FacetCount> order, int limit) {
+        List<FacetCount> result = new ArrayList<>(counts.size());
+        counts.forEach((value, count) -> result.add(new FacetCount(value, count)));
+        result.sort(order);
+        return result.size() > limit ? List.copyOf(result.subList(0, limit)) : result;
+    }
+
+    /* ---------------------------------------------------
+       PER-THREAD COLLECTOR
+    --------------------------------------------------- */
+
+    static final class FacetCollector implements Collector {
+
+        private final Map<String, Long> domains = new HashMap<>();
+        private final Map<String, Long> days = new HashMap<>();
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+
+        @Override
+        public LeafCollector getLeafCollector(LeafReaderContext context) throws IOException {
+            SortedSetDocValues domainValues = DocValues.getSortedSet(context.reader(), DOMAIN_FIELD);
+            SortedSetDocValues dayValues = DocValues.getSortedSet(context.reader(), DAY_FIELD);
+            int[] domainCounts = new int[(int) domainValues.getValueCount()];
+            int[] dayCounts = new int[(int) dayValues.getValueCount()];
+
+            return new LeafCollector() {
+                @Override
+                public void setScorer(Scorable scorer) {
+                }
+
+                @Override
+                public void collect(int doc) throws IOException {
+                    count(domainValues, doc, domainCounts);
+                    count(dayValues, doc, dayCounts);
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    resolve(domainValues, domainCounts, domains);
+                    resolve(dayValues, dayCounts, days);
+                }
+            };
+        }
+
+        private static void count(SortedSetDocValues values, int doc, int[] counts) throws IOException {
+            if (values.advanceExact(doc)) {
+                for (int i = 0; i < values.docValueCount(); i++) {
+                    counts[(int) values.nextOrd()]++;
+                }
+            }
+        }
+
+        private static void resolve(SortedSetDocValues values, int[] counts, Map<String, Long> into)
+                throws IOException {
+            for (int ord = 0; ord < counts.length; ord++) {
+                if (counts[ord] > 0) {
+                    into.merge(values.lookupOrd(ord).utf8ToString(), (long) counts[ord], Long::sum);
+                }
+            }
+        }
+    }
+}
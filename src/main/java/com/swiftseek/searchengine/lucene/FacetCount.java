@@ -0,0 +1,5 @@
+package com.swiftseek.searchengine.lucene;
+
+/** Number of matching documents that carry {@code value}. */
+public record FacetCount(String value, long count) {
+}
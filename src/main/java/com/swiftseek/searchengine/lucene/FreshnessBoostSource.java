@@ -0,0 +1,107 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.search.DoubleValues;
+import org.apache.lucene.search.DoubleValuesSource;
+import org.apache.lucene.search.Explanation;
+import org.apache.lucene.search.IndexSearcher;
+
+/**
+ * Per-document freshness multiplier read from the {@code timestamp} doc
+ * values:
+ *
+ * <pre>boost = 1 + maxBoost * 0.5 ^ (age / halfLife)</pre>
+ *
+ * A brand-new document scores {@code 1 + maxBoost} times its text score,
+ * one that is {@code halfLife} old gets half the extra boost, and old
+ * documents converge to 1. Documents without a timestamp get 1.
+ *
+ * Used with {@code FunctionScoreQuery.boostByValue} so the boost is part of
+ * the score every hit is ranked by, and no stored field is read to compute it.
+ */
+public final class FreshnessBoostSource extends DoubleValuesSource {
+
+    private final String field;
+    private final long now;
+    private final double maxBoost;
+    private final double halfLifeMillis;
+
+    public FreshnessBoostSource(String field, long now, double maxBoost, double halfLifeMillis) {
+        this.field = field;
+        this.now = now;
+        this.maxBoost = maxBoost;
+        this.halfLifeMillis = halfLifeMillis;
+    }
+
+    double boost(long timestamp) {
+        double age = Math.max(0, now - timestamp);
+        return 1.0 + maxBoost * Math.pow(0.5, age / halfLifeMillis);
+    }
+
+    @Override
+    public DoubleValues getValues(LeafReaderContext ctx, DoubleValues scores) throws IOException {
+        NumericDocValues timestamps = DocValues.getNumeric(ctx.reader(), field);
+        return new DoubleValues() {
+            private double value = 1.0;
+
+            @Override
+            public double doubleValue() {
+                return value;
+            }
+
+            @Override
+            public boolean advanceExact(int doc) throws IOException {
+                value = timestamps.advanceExact(doc) ? boost(timestamps.longValue()) : 1.0;
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public boolean needsScores() {
+        return false;
+    }
+
+    @Override
+    public DoubleValuesSource rewrite(IndexSearcher searcher) {
+        return this;
+    }
+
+    @Override
+    public boolean isCacheable(LeafReaderContext ctx) {
+        return DocValues.isCacheable(ctx, field);
+    }
+
+    @Override
+    public Explanation explain(LeafReaderContext ctx, int docId, Explanation scoreExplanation) throws IOException {
+        DoubleValues values = getValues(ctx, null);
+        values.advanceExact(docId);
+        return Explanation.match(values.doubleValue(), "freshness boost of " + field
+                + " (maxBoost=" + maxBoost + ", halfLifeMillis=" + halfLifeMillis + ")");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FreshnessBoostSource other)) return false;
+        return field.equals(other.field)
+                && now == other.now
+                && maxBoost == other.maxBoost
+                && halfLifeMillis == other.halfLifeMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(field, now, maxBoost, halfLifeMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "freshness(" + field + ")";
+    }
+}
@@ -0,0 +1,59 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Publishes {@link LuceneIndexManager#stats()} as {@code swiftseek.index.*}
+ * gauges. A scrape reads all gauges at once, so the stats are computed at
+ * most once per {@link #MAX_AGE_MILLIS} and shared between them.
+ */
+@Component
+public class IndexMetrics {
+
+    private static final long MAX_AGE_MILLIS = 1000;
+
+    private final LuceneIndexManager indexManager;
+
+    private IndexStats stats;
+    private long statsMillis;
+
+    public IndexMetrics(LuceneIndexManager indexManager, MeterRegistry meterRegistry) {
+        this.indexManager = indexManager;
+
+        gauge(meterRegistry, "swiftseek.index.partitions", null, IndexStats::partitions);
+        gauge(meterRegistry, "swiftseek.index.segments", null, IndexStats::segments);
+        gauge(meterRegistry, "swiftseek.index.docs", null, IndexStats::docs);
+        gauge(meterRegistry, "swiftseek.index.deleted.docs", null, IndexStats::deletedDocs);
+        gauge(meterRegistry, "swiftseek.index.buffered", "bytes", IndexStats::bufferedBytes);
+        gauge(meterRegistry, "swiftseek.index.refresh.lag", "milliseconds", IndexStats::refreshLagMillis);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String unit, ToDoubleFunction<IndexStats> value) {
+        Gauge.builder(name, this, metrics -> {
+                    IndexStats current = metrics.current();
+                    return current == null ? Double.NaN : value.applyAsDouble(current);
+                })
+                .baseUnit(unit)
+                .register(registry);
+    }
+
+    private synchronized IndexStats current() {
+        long now = System.currentTimeMillis();
+        if (stats == null || now - statsMillis >= MAX_AGE_MILLIS) {
+            try {
+                stats = indexManager.stats();
+                statsMillis = now;
+            } catch (IOException e) {
+                System.err.println("❌ Failed to read index stats: " + e.getMessage());
+                return null;
+            }
+        }
+        return stats;
+    }
+}
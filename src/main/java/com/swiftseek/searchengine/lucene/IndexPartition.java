@@ -0,0 +1,346 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.ReaderManager;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.ReferenceManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NIOFSDirectory;
+import org.apache.lucene.util.IOUtils;
+
+/**
+ * One time slice of the index: its own directory, {@link IndexWriter} and
+ * near-real-time {@link ReaderManager}, holding the documents whose
+ * timestamp falls in {@code [startMillis, endMillis)}.
+ *
+ * The directory name carries the slice ({@code 2026-10-12_7d}), so
+ * partitions are rediscovered on startup without any extra metadata, and
+ * dropping one is a matter of deleting its directory.
+ *
+ * A partition written with another {@link LuceneIndexManager#SCHEMA_VERSION}
+ * is rebuilt on open: its documents are re-indexed from their stored fields
+ * into {@code <name>.rebuild}, which then replaces the original directory.
+ * The original is only deleted once the rebuilt copy is committed and in
+ * place; if the rebuild fails, opening fails and the original is left as
+ * it was.
+ */
+final class IndexPartition {
+
+    private static final Pattern NAME = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})_(\\d+)d");
+
+    private static final String SCHEMA_KEY = "schema";
+    private static final String REBUILD_SUFFIX = ".rebuild";
+    private static final String OLD_SUFFIX = ".old";
+    private static final double MAX_STALE_SEC = 1.0;
+    private static final double MIN_STALE_SEC = 0.1;
+
+    private final String name;
+    private final long startMillis;
+    private final long endMillis;
+    private final Path path;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final ReaderManager readerManager;
+    private final ControlledRealTimeReopenThread<DirectoryReader> reopenThread;
+
+    /** When the current reader was opened; the refresh lag is measured from it. */
+    private volatile long readerOpenedMillis = System.currentTimeMillis();
+
+    private IndexPartition(
+            Path root,
+            LocalDate start,
+            int days,
+            Analyzer analyzer,
+            IndexProperties settings,
+            ReferenceManager.RefreshListener refreshListener) throws IOException {
+
+        this.name = start + "_" + days + "d";
+        this.startMillis = start.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        this.endMillis = startMillis + TimeUnit.DAYS.toMillis(days);
+        this.path = root.resolve(name);
+
+        String schema = existingSchema(path);
+        if (schema != null && !schema.equals(LuceneIndexManager.SCHEMA_VERSION)) {
+            rebuild(path, schema, analyzer, settings);
+        }
+        this.directory = openDirectory(path, settings);
+
+        this.writer = new IndexWriter(directory, writerConfig(analyzer, settings)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        writer.setLiveCommitData(Map.of(SCHEMA_KEY, LuceneIndexManager.SCHEMA_VERSION).entrySet());
+
+        this.readerManager = new ReaderManager(writer, true, true);
+        readerManager.addListener(refreshListener);
+        readerManager.addListener(new ReferenceManager.RefreshListener() {
+            @Override
+            public void beforeRefresh() {
+            }
+
+            @Override
+            public void afterRefresh(boolean didRefresh) {
+                if (didRefresh) {
+                    readerOpenedMillis = System.currentTimeMillis();
+                }
+            }
+        });
+
+        this.reopenThread = new ControlledRealTimeReopenThread<>(
+                writer, readerManager, MAX_STALE_SEC, MIN_STALE_SEC);
+        reopenThread.setName("lucene-nrt-reopen-" + name);
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+    }
+
+    /** Opens (or creates) the partition starting on {@code start}. */
+    static IndexPartition open(
+            Path root,
+            LocalDate start,
+            int days,
+            Analyzer analyzer,
+            IndexProperties settings,
+            ReferenceManager.RefreshListener refreshListener) throws IOException {
+        return new IndexPartition(root, start, days, analyzer, settings, refreshListener);
+    }
+
+    /**
+     * Reopens the partition stored in {@code dir}, or returns {@code null}
+     * when the directory name is not a partition name. Leftovers of a
+     * rebuild that was interrupted are cleaned up first.
+     */
+    static IndexPartition reopen(
+            Path dir,
+            Analyzer analyzer,
+            IndexProperties settings,
+            ReferenceManager.RefreshListener refreshListener) throws IOException {
+        String dirName = dir.getFileName().toString();
+        if (dirName.endsWith(REBUILD_SUFFIX)) {
+            // never swapped in: the original (or its .old copy) is still there
+            IOUtils.rm(dir);
+            return null;
+        }
+        if (dirName.endsWith(OLD_SUFFIX)) {
+            Path original = dir.resolveSibling(dirName.substring(0, dirName.length() - OLD_SUFFIX.length()));
+            if (Files.exists(original)) {
+                // the rebuilt copy is in place already
+                IOUtils.rm(dir);
+                return null;
+            }
+            // moved aside but the rebuilt copy never replaced it: rebuild again
+            Files.move(dir, original, StandardCopyOption.ATOMIC_MOVE);
+            dir = original;
+        }
+
+        Matcher matcher = NAME.matcher(dir.getFileName().toString());
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new IndexPartition(dir.getParent(), LocalDate.parse(matcher.group(1)),
+                Integer.parseInt(matcher.group(2)), analyzer, settings, refreshListener);
+    }
+
+    private static Directory openDirectory(Path path, IndexProperties settings) throws IOException {
+        if (settings.directory() == IndexProperties.DirectoryType.NIO) {
+            return new NIOFSDirectory(path);
+        }
+        MMapDirectory directory = new MMapDirectory(path);
+        Set<String> preload = settings.preloadExtensions();
+        if (!preload.isEmpty()) {
+            directory.setPreload((file, context) -> preload.contains(IndexFileNames.getExtension(file)));
+        }
+        return directory;
+    }
+
+    private static IndexWriterConfig writerConfig(Analyzer analyzer, IndexProperties settings) {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setCodec(new Lucene99Codec(settings.storedFieldsMode()));
+        config.setRAMBufferSizeMB(settings.ramBufferMb());
+        return config;
+    }
+
+    /** Schema version of the index in {@code path}, {@code null} if there is none yet. */
+    private static String existingSchema(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return null;
+        }
+        try (Directory directory = FSDirectory.open(path)) {
+            if (!DirectoryReader.indexExists(directory)) {
+                return null;
+            }
+            String schema = SegmentInfos.readLatestCommit(directory).getUserData().get(SCHEMA_KEY);
+            return schema != null ? schema : "none";
+        }
+    }
+
+    /**
+     * Re-indexes the partition in {@code path} from its stored fields with
+     * the current schema, then swaps the result in.
+     */
+    private static void rebuild(Path path, String schema, Analyzer analyzer, IndexProperties settings)
+            throws IOException {
+
+        String name = path.getFileName().toString();
+        Path fresh = path.resolveSibling(name + REBUILD_SUFFIX);
+        Path old = path.resolveSibling(name + OLD_SUFFIX);
+        System.out.println("♻️ Partition " + name + " has schema " + schema + ", rebuilding it as schema "
+                + LuceneIndexManager.SCHEMA_VERSION);
+
+        long copied;
+        try {
+            IOUtils.rm(fresh);
+            try (Directory source = FSDirectory.open(path);
+                 Directory target = FSDirectory.open(fresh);
+                 IndexWriter writer = new IndexWriter(target, writerConfig(analyzer, settings)
+                         .setOpenMode(IndexWriterConfig.OpenMode.CREATE))) {
+                writer.setLiveCommitData(Map.of(SCHEMA_KEY, LuceneIndexManager.SCHEMA_VERSION).entrySet());
+                copied = StoredDocuments.copy(source, (id, doc, timestamp) -> writer.updateDocument(id, doc));
+                writer.commit();
+            }
+        } catch (IOException | RuntimeException e) {
+            IOException failure = new IOException("Partition " + name + " (schema " + schema
+                    + ") could not be rebuilt; it was left unchanged", e);
+            try {
+                IOUtils.rm(fresh);
+            } catch (IOException cleanup) {
+                failure.addSuppressed(cleanup);
+            }
+            throw failure;
+        }
+
+        Files.move(path, old, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(fresh, path, StandardCopyOption.ATOMIC_MOVE);
+        IOUtils.rm(old);
+        System.out.println("♻️ Rebuilt partition " + name + ": " + copied + " documents re-indexed");
+    }
+
+    String name() {
+        return name;
+    }
+
+    long startMillis() {
+        return startMillis;
+    }
+
+    long endMillis() {
+        return endMillis;
+    }
+
+    boolean contains(long timestamp) {
+        return timestamp >= startMillis && timestamp < endMillis;
+    }
+
+    /* ---------------------------------------------------
+       WRITES
+    --------------------------------------------------- */
+
+    void update(Term id, Iterable<? extends IndexableField> doc) throws IOException {
+        writer.updateDocument(id, doc);
+    }
+
+    void delete(Term id) throws IOException {
+        writer.deleteDocuments(id);
+    }
+
+    /**
+     * Replaces the documents with these {@code ids} (all of one field) by
+     * {@code docs} in a single writer call, atomically for readers.
+     */
+    void update(List<Term> ids, List<? extends Iterable<? extends IndexableField>> docs) throws IOException {
+        writer.updateDocuments(
+                new TermInSetQuery(ids.get(0).field(), ids.stream().map(Term::bytes).toList()), docs);
+    }
+
+    void delete(List<Term> ids) throws IOException {
+        if (!ids.isEmpty()) {
+            writer.deleteDocuments(ids.toArray(Term[]::new));
+        }
+    }
+
+    void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    /* ---------------------------------------------------
+       READS
+    --------------------------------------------------- */
+
+    /** Borrows the current reader; give it back with {@link DirectoryReader#decRef()}. */
+    DirectoryReader acquire() throws IOException {
+        return readerManager.acquire();
+    }
+
+    /** Makes every write so far visible to the next {@link #acquire()}. */
+    void refresh() throws IOException {
+        readerManager.maybeRefreshBlocking();
+    }
+
+    /**
+     * Adds this partition's segment and document counts to {@code stats}.
+     * The refresh lag is 0 while the reader sees every write, otherwise the
+     * age of the reader searches are served from.
+     */
+    void addStats(IndexStats.Builder stats) throws IOException {
+        DirectoryReader reader = readerManager.acquire();
+        try {
+            long lag = reader.isCurrent() ? 0 : System.currentTimeMillis() - readerOpenedMillis;
+            stats.add(reader.leaves().size(), reader.numDocs(), reader.numDeletedDocs(),
+                    writer.ramBytesUsed(), lag);
+        } finally {
+            readerManager.release(reader);
+        }
+    }
+
+    /* ---------------------------------------------------
+       LIFECYCLE
+    --------------------------------------------------- */
+
+    void close() throws IOException {
+        reopenThread.close();
+        readerManager.close();
+        try {
+            writer.commit();
+        } finally {
+            IOUtils.close(writer, directory);
+        }
+    }
+
+    /**
+     * Closes the partition without committing and deletes its directory.
+     * Readers still held by in-flight searches keep working until released.
+     */
+    void drop() throws IOException {
+        reopenThread.close();
+        readerManager.close();
+        try {
+            writer.rollback();
+        } finally {
+            directory.close();
+            IOUtils.rm(path);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.util.Set;
+
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Index settings, bound from {@code swiftseek.index.*}.
+ *
+ * @param path              directory holding one sub-directory per partition.
+ *                          Installs from before this setting kept the index
+ *                          in {@code D:/searchengine/index}; startup warns
+ *                          when that still holds an index and this is empty
+ * @param directory         MMAP maps index files into the page cache (the
+ *                          fastest choice on 64-bit servers); NIO reads
+ *                          them with positional reads instead
+ * @param preloadExtensions file extensions read into memory when a segment
+ *                          is opened (MMAP only), so the first query that
+ *                          touches them does not page-fault: {@code tip}
+ *                          terms index, {@code nvd} norms, {@code dvd} doc
+ *                          values, {@code kdi} points index. Small segments
+ *                          packed into a {@code cfs} compound file are not
+ *                          affected
+ * @param ramBufferMb       documents buffered per partition writer before
+ *                          they are flushed to a new segment
+ * @param storedFieldsMode  BEST_SPEED (LZ4) keeps per-hit decompression
+ *                          cheap for snippet building; BEST_COMPRESSION
+ *                          trades that for a smaller index
+ * @param partitionDays     width of one partition in days (1 = daily)
+ * @param retentionDays     partitions that end more than this many days ago
+ *                          are dropped; 0 keeps everything
+ * @param searchThreads     threads searching partitions/segments in
+ *                          parallel; 0 searches on the calling thread
+ */
+@ConfigurationProperties("swiftseek.index")
+public record IndexProperties(
+        @DefaultValue("data/index") String path,
+        @DefaultValue("MMAP") DirectoryType directory,
+        @DefaultValue({"tip", "nvd", "dvd", "kdi"}) Set<String> preloadExtensions,
+        @DefaultValue("64") double ramBufferMb,
+        @DefaultValue("BEST_SPEED") Lucene99Codec.Mode storedFieldsMode,
+        @DefaultValue("7") int partitionDays,
+        @DefaultValue("90") int retentionDays,
+        @DefaultValue("4") int searchThreads) {
+
+    public enum DirectoryType { MMAP, NIO }
+}
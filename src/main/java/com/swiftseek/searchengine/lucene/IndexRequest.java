@@ -0,0 +1,34 @@
+package com.swiftseek.searchengine.lucene;
+
+import com.swiftseek.searchengine.crawler.CrawledPage;
+import com.swiftseek.searchengine.crawler.news.NewsArticle;
+
+/**
+ * One document waiting in the {@link IndexingPipeline}, independent of
+ * whether it came from the crawler or from NewsAPI.
+ */
+public record IndexRequest(
+        String title,
+        String url,
+        String content,
+        String domain,
+        long timestamp) {
+
+    public static IndexRequest of(CrawledPage page) {
+        return new IndexRequest(
+                page.title(),
+                page.url(),
+                page.content(),
+                page.domain(),
+                page.crawlTime());
+    }
+
+    public static IndexRequest of(NewsArticle article) {
+        return new IndexRequest(
+                article.title(),
+                article.url(),
+                article.content(),
+                article.source(),
+                article.publishedTime());
+    }
+}
@@ -0,0 +1,44 @@
+package com.swiftseek.searchengine.lucene;
+
+/**
+ * Health figures for the whole index, summed over its partitions.
+ *
+ * @param partitions       open partitions
+ * @param segments         segments in the readers searches currently use
+ * @param docs             live (searchable) documents
+ * @param deletedDocs      deleted or replaced documents not yet merged away
+ * @param bufferedBytes    RAM held by the writers for not yet flushed documents
+ * @param refreshLagMillis worst partition: how long its searchers have been
+ *                         missing writes (0 when all are current)
+ */
+public record IndexStats(
+        int partitions,
+        int segments,
+        long docs,
+        long deletedDocs,
+        long bufferedBytes,
+        long refreshLagMillis) {
+
+    static final class Builder {
+
+        private int partitions;
+        private int segments;
+        private long docs;
+        private long deletedDocs;
+        private long bufferedBytes;
+        private long refreshLagMillis;
+
+        void add(int segments, long docs, long deletedDocs, long bufferedBytes, long refreshLagMillis) {
+            this.partitions++;
+            this.segments += segments;
+            this.docs += docs;
+            this.deletedDocs += deletedDocs;
+            this.bufferedBytes += bufferedBytes;
+            this.refreshLagMillis = Math.max(this.refreshLagMillis, refreshLagMillis);
+        }
+
+        IndexStats build() {
+            return new IndexStats(partitions, segments, docs, deletedDocs, bufferedBytes, refreshLagMillis);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replays the most frequent logged queries once on startup, so the index
+ * files, doc values and parsed-query cache they touch are warm before the
+ * first real user arrives.
+ *
+ * Application runners finish before Spring Boot publishes the
+ * {@code ACCEPTING_TRAFFIC} readiness state, so a readiness probe keeps the
+ * instance out of rotation until the warmup is done. Each query runs like a
+ * first-page search with facets, bypassing the result-page cache; the whole
+ * warmup stops after {@code max-ms}.
+ */
+@Component
+public class IndexWarmup implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final LuceneSearcher luceneSearcher;
+    private final QueryLog queryLog;
+    private final int maxQueries;
+    private final long maxMillis;
+
+    public IndexWarmup(
+            LuceneSearcher luceneSearcher,
+            QueryLog queryLog,
+            @Value("${swiftseek.warmup.queries:100}") int maxQueries,
+            @Value("${swiftseek.warmup.max-ms:30000}") long maxMillis) {
+        this.luceneSearcher = luceneSearcher;
+        this.queryLog = queryLog;
+        this.maxQueries = maxQueries;
+        this.maxMillis = maxMillis;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /** Returns the number of queries replayed. */
+    public int warmUp() {
+        List<String> queries = queryLog.top(maxQueries);
+        if (queries.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        int replayed = 0;
+        for (String query : queries) {
+            if (System.currentTimeMillis() - start > maxMillis) {
+                System.out.println("⏱️ Warmup time budget used up after " + replayed + " queries");
+                break;
+            }
+            try {
+                luceneSearcher.search(query, null, null, 0, PAGE_SIZE, null, true);
+            } catch (Exception e) {
+                // a logged query that no longer parses is just skipped
+            }
+            replayed++;
+        }
+        System.out.println("🔥 Warmed up the index with " + replayed + " queries in "
+                + (System.currentTimeMillis() - start) + " ms");
+        return replayed;
+    }
+}
@@ -0,0 +1,238 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded ingestion queue in front of the shared index writer.
+ *
+ * Producers hand over {@link IndexRequest}s and return immediately; a small
+ * pool of worker threads drains the queue in batches, writes each batch with
+ * {@link LuceneIndexer#indexBatch(List)} and commits at most once per
+ * configured interval. When the queue is full, {@link #submit} blocks the
+ * producer (crawler backpressure) while {@link #offer} drops the request so
+ * request threads never wait on indexing.
+ *
+ * Being accepted into the queue is no promise that a request gets indexed:
+ * a batch can still fail in the writer. Callers that track what is in the
+ * index register an {@link #addIndexedListener indexed listener}, which
+ * only sees batches that were written.
+ */
+@Component
+public class IndexingPipeline {
+
+    private static final long POLL_MILLIS = 500;
+
+    private final LuceneIndexer luceneIndexer;
+    private final LuceneIndexManager indexManager;
+
+    private final BlockingQueue<IndexRequest> queue;
+    private final int workers;
+    private final int batchSize;
+    private final long commitIntervalMillis;
+    private final long submitTimeoutMillis;
+
+    private final AtomicLong lastCommit = new AtomicLong(System.currentTimeMillis());
+    /** Requests accepted into the queue, and those whose batch was written (or failed). */
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final Object progress = new Object();
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private final List<Consumer<List<IndexRequest>>> indexedListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+
+    private final Timer batchTimer;
+    private final Counter indexedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    public IndexingPipeline(
+            LuceneIndexer luceneIndexer,
+            LuceneIndexManager indexManager,
+            MeterRegistry meterRegistry,
+            @Value("${swiftseek.indexing.queue-capacity:10000}") int queueCapacity,
+            @Value("${swiftseek.indexing.workers:1}") int workers,
+            @Value("${swiftseek.indexing.batch-size:500}") int batchSize,
+            @Value("${swiftseek.indexing.commit-interval-ms:30000}") long commitIntervalMillis,
+            @Value("${swiftseek.indexing.submit-timeout-ms:5000}") long submitTimeoutMillis) {
+
+        this.luceneIndexer = luceneIndexer;
+        this.indexManager = indexManager;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.commitIntervalMillis = commitIntervalMillis;
+        this.submitTimeoutMillis = submitTimeoutMillis;
+
+        meterRegistry.gauge("swiftseek.indexing.queue.depth", queue, BlockingQueue::size);
+        this.batchTimer = Timer.builder("swiftseek.indexing.batch")
+                .description("Time to write one batch into the index writer")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.indexedCounter = meterRegistry.counter("swiftseek.indexing.documents", "result", "indexed");
+        this.failedCounter = meterRegistry.counter("swiftseek.indexing.documents", "result", "failed");
+        this.rejectedCounter = meterRegistry.counter("swiftseek.indexing.documents", "result", "rejected");
+    }
+
+    /* ---------------------------------------------------
+       PRODUCER SIDE
+    --------------------------------------------------- */
+
+    /**
+     * Enqueues without waiting. Returns {@code false} when the queue is full.
+     */
+    public boolean offer(IndexRequest request) {
+        return accepted(queue.offer(request));
+    }
+
+    /**
+     * Enqueues, blocking for up to the configured submit timeout while the
+     * queue is full. Returns {@code false} if it is still full afterwards.
+     */
+    public boolean submit(IndexRequest request) throws InterruptedException {
+        return accepted(queue.offer(request, submitTimeoutMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private boolean accepted(boolean queued) {
+        if (queued) {
+            accepted.incrementAndGet();
+        } else {
+            rejectedCounter.increment();
+        }
+        return queued;
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    /**
+     * Waits until every request accepted so far has been through the index
+     * writer (written or failed), for at most {@code timeoutMillis}. Returns
+     * {@code false} on timeout. The writes become searchable with the next
+     * reader refresh.
+     */
+    public boolean awaitProcessed(long timeoutMillis) throws InterruptedException {
+        long target = accepted.get();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (progress) {
+            while (processed.get() < target) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                progress.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registers a callback for every batch written to the index writer, run
+     * on the worker thread (so it must not block or keep the list).
+     * Failed batches are not reported.
+     */
+    public void addIndexedListener(Consumer<List<IndexRequest>> listener) {
+        indexedListeners.add(listener);
+    }
+
+    /* ---------------------------------------------------
+       WORKERS
+    --------------------------------------------------- */
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(this::runWorker, "indexing-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workerThreads.add(worker);
+        }
+    }
+
+    private void runWorker() {
+        List<IndexRequest> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                IndexRequest first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    writeBatch(batch);
+                    batch.clear();
+                }
+                maybeCommit();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeBatch(List<IndexRequest> batch) {
+        long start = System.nanoTime();
+        try {
+            luceneIndexer.indexBatch(batch);
+            indexedCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            System.err.println("❌ Failed to index batch of " + batch.size() + ": " + e.getMessage());
+            markProcessed(batch.size());
+            return;
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        List<IndexRequest> written = Collections.unmodifiableList(batch);
+        for (Consumer<List<IndexRequest>> listener : indexedListeners) {
+            listener.accept(written);
+        }
+        markProcessed(batch.size());
+    }
+
+    private void markProcessed(int count) {
+        processed.addAndGet(count);
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+    }
+
+    private void maybeCommit() {
+        long last = lastCommit.get();
+        long now = System.currentTimeMillis();
+        if (now - last < commitIntervalMillis || !lastCommit.compareAndSet(last, now)) {
+            return;
+        }
+        try {
+            indexManager.commit();
+        } catch (Exception e) {
+            System.err.println("❌ Index commit failed: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workerThreads) {
+            worker.join();
+        }
+    }
+}
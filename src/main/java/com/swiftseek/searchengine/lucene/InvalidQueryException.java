@@ -0,0 +1,20 @@
+package com.swiftseek.searchengine.lucene;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Client-side problem with a search request (unparsable query, bad cursor,
+ * ...). Reported as 400 instead of a server error.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidQueryException extends RuntimeException {
+
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+
+    public InvalidQueryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,512 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ReferenceManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Owns the time-partitioned index: one {@link IndexPartition} (directory,
+ * writer and near-real-time reader) per {@code partition-days} slice of
+ * document time, under {@link IndexProperties#path()}.
+ *
+ * Documents are routed by their timestamp (crawl time for pages, publish
+ * time for news). Searches borrow a {@link MultiReader} over only the
+ * partitions that can hold matches for the query's time window, searched
+ * in parallel on a small executor. Retention drops whole partitions by
+ * deleting their directories, without deleting documents one by one. An index
+ * from before partitioning (segment files directly under the root) is
+ * migrated into the partitions on startup.
+ *
+ * Writes go into the writers' RAM buffers and become searchable after the
+ * next background refresh (at most a second later). Durable commits are
+ * driven by the {@link IndexingPipeline} commit interval and happen on
+ * shutdown, never per document.
+ */
+@Component
+public class LuceneIndexManager {
+
+    /**
+     * Bump whenever a field changes in a way Lucene refuses to mix with
+     * existing segments (index options, doc values type, ...). A partition
+     * written with another version is re-indexed from its stored fields on
+     * startup (see {@link IndexPartition}); startup fails rather than lose
+     * it if that is not possible.
+     */
+    static final String SCHEMA_VERSION = "4";
+
+    /** Where the index lived before {@code swiftseek.index.path} existed. */
+    static final String PREVIOUS_DEFAULT_PATH = "D:/searchengine/index";
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Path root;
+    private final IndexProperties settings;
+    private final int partitionDays;
+    private final long retentionMillis;
+    private final ExecutorService searchExecutor;
+
+    /** Partitions by start time; structure changes hold the write lock. */
+    private final ConcurrentSkipListMap<Long, IndexPartition> partitions = new ConcurrentSkipListMap<>();
+    private final ReadWriteLock partitionsLock = new ReentrantReadWriteLock();
+
+    private final List<RefreshCallback> refreshCallbacks = new CopyOnWriteArrayList<>();
+    private final ReferenceManager.RefreshListener refreshListener = new ReferenceManager.RefreshListener() {
+        @Override
+        public void beforeRefresh() {
+        }
+
+        @Override
+        public void afterRefresh(boolean didRefresh) throws IOException {
+            notifyRefresh(didRefresh);
+        }
+    };
+    private final AtomicLong searcherGeneration = new AtomicLong();
+
+    public LuceneIndexManager(IndexProperties settings) throws IOException {
+        this.root = Paths.get(settings.path());
+        this.settings = settings;
+        this.partitionDays = Math.max(1, settings.partitionDays());
+        this.retentionMillis = TimeUnit.DAYS.toMillis(settings.retentionDays());
+        this.searchExecutor = settings.searchThreads() > 0 ? newSearchExecutor(settings.searchThreads()) : null;
+
+        addRefreshListener(didRefresh -> {
+            if (didRefresh) {
+                searcherGeneration.incrementAndGet();
+            }
+        });
+
+        openExistingPartitions();
+        migrateLegacyIndex();
+        warnAboutPreviousDefaultPath();
+    }
+
+    private static ExecutorService newSearchExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "lucene-search-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void openExistingPartitions() throws IOException {
+        Files.createDirectories(root);
+
+        List<Path> dirs;
+        try (Stream<Path> children = Files.list(root)) {
+            dirs = children.filter(Files::isDirectory).toList();
+        }
+        for (Path dir : dirs) {
+            IndexPartition partition = IndexPartition.reopen(dir, analyzer, settings, refreshListener);
+            if (partition != null) {
+                partitions.put(partition.startMillis(), partition);
+            }
+        }
+        System.out.println("🗂️ Opened " + partitions.size() + " index partitions in "
+                + root.toAbsolutePath() + " (" + settings.directory() + ")");
+    }
+
+    /**
+     * Moves a pre-partitioning index (segment files directly under the root)
+     * into the time partitions, then deletes its files. Documents that a
+     * partition already holds, because they were crawled again since, keep
+     * their newer copy; documents past retention are dropped. The legacy
+     * files are only deleted after the partitions are committed, so an
+     * interrupted migration simply runs again on the next start.
+     */
+    private void migrateLegacyIndex() throws IOException {
+        try (Directory legacy = FSDirectory.open(root)) {
+            if (!DirectoryReader.indexExists(legacy)) {
+                return;
+            }
+            System.out.println("📦 Migrating the pre-partitioning index in " + root + " into partitions");
+
+            AtomicLong migrated = new AtomicLong();
+            long read;
+            IndexSearcher existing = acquire();
+            try {
+                read = StoredDocuments.copy(legacy, (id, doc, timestamp) -> {
+                    if (existing.getIndexReader().docFreq(id) == 0 && !isExpired(timestamp)) {
+                        updateDocument(id, doc, timestamp);
+                        migrated.incrementAndGet();
+                    }
+                });
+            } finally {
+                release(existing);
+            }
+            commit();
+            refresh();
+
+            for (String file : legacy.listAll()) {
+                if (isIndexFile(file)) {
+                    legacy.deleteFile(file);
+                }
+            }
+            System.out.println("📦 Migrated " + migrated + " of " + read
+                    + " documents (the rest were newer in a partition or past retention)");
+        }
+    }
+
+    /**
+     * Starting empty while the old hard-coded location still holds an index
+     * almost always means an upgraded install lost track of its index.
+     */
+    private void warnAboutPreviousDefaultPath() throws IOException {
+        Path previous = Paths.get(PREVIOUS_DEFAULT_PATH).toAbsolutePath().normalize();
+        if (!partitions.isEmpty() || previous.equals(root.toAbsolutePath().normalize())
+                || !holdsIndex(previous)) {
+            return;
+        }
+        System.err.println("⚠️ The index in " + root.toAbsolutePath() + " is empty, but " + previous
+                + " (the index location before swiftseek.index.path) holds one. Set"
+                + " swiftseek.index.path=" + PREVIOUS_DEFAULT_PATH + " or move that directory to use it.");
+    }
+
+    private static boolean holdsIndex(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return false;
+        }
+        List<Path> candidates = new ArrayList<>(List.of(dir));
+        try (Stream<Path> children = Files.list(dir)) {
+            children.filter(Files::isDirectory).forEach(candidates::add);
+        }
+        for (Path candidate : candidates) {
+            try (Directory directory = FSDirectory.open(candidate)) {
+                if (DirectoryReader.indexExists(directory)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIndexFile(String file) {
+        return IndexFileNames.CODEC_FILE_PATTERN.matcher(file).matches()
+                || file.startsWith(IndexFileNames.SEGMENTS)
+                || file.startsWith(IndexFileNames.PENDING_SEGMENTS)
+                || file.equals(IndexWriter.WRITE_LOCK_NAME);
+    }
+
+    public Analyzer analyzer() {
+        return analyzer;
+    }
+
+    /* ---------------------------------------------------
+       WRITES (routed by document time)
+    --------------------------------------------------- */
+
+    /**
+     * Adds or replaces the document identified by {@code id} in the partition
+     * covering {@code timestamp}, and deletes any older copy from the other
+     * partitions (a re-crawled page moves to the partition of its new crawl
+     * time). Documents already past retention are not written.
+     */
+    public void updateDocument(Term id, Iterable<? extends IndexableField> doc, long timestamp)
+            throws IOException {
+
+        if (isExpired(timestamp)) {
+            return;
+        }
+        IndexPartition target = partitionFor(timestamp);
+
+        partitionsLock.readLock().lock();
+        try {
+            // if retention dropped target meanwhile, the document was expired anyway
+            for (IndexPartition partition : partitions.values()) {
+                if (partition == target) {
+                    partition.update(id, doc);
+                } else {
+                    partition.delete(id);
+                }
+            }
+        } finally {
+            partitionsLock.readLock().unlock();
+        }
+    }
+
+    /** One document for {@link #updateDocuments}. */
+    public record DocumentUpdate(Term id, Iterable<? extends IndexableField> doc, long timestamp) {
+    }
+
+    /**
+     * Batch form of {@link #updateDocument}: the updates are grouped by
+     * partition, and each partition gets one
+     * {@link IndexWriter#updateDocuments(org.apache.lucene.search.Query, Iterable)}
+     * call for its own documents and one
+     * {@link IndexWriter#deleteDocuments(Term...)} call for the documents
+     * that moved to another partition. That is two writer calls per partition
+     * instead of one per document and partition. The ids must be distinct.
+     */
+    public void updateDocuments(List<DocumentUpdate> updates) throws IOException {
+        Map<IndexPartition, List<DocumentUpdate>> byTarget = new IdentityHashMap<>();
+        for (DocumentUpdate update : updates) {
+            if (!isExpired(update.timestamp())) {
+                byTarget.computeIfAbsent(partitionFor(update.timestamp()), p -> new ArrayList<>()).add(update);
+            }
+        }
+        if (byTarget.isEmpty()) {
+            return;
+        }
+
+        partitionsLock.readLock().lock();
+        try {
+            // if retention dropped a target meanwhile, its documents were expired anyway
+            for (IndexPartition partition : partitions.values()) {
+                List<Term> movedAway = new ArrayList<>();
+                for (Map.Entry<IndexPartition, List<DocumentUpdate>> group : byTarget.entrySet()) {
+                    if (group.getKey() != partition) {
+                        group.getValue().forEach(update -> movedAway.add(update.id()));
+                    }
+                }
+                partition.delete(movedAway);
+
+                List<DocumentUpdate> own = byTarget.get(partition);
+                if (own != null) {
+                    partition.update(own.stream().map(DocumentUpdate::id).toList(),
+                            own.stream().map(DocumentUpdate::doc).toList());
+                }
+            }
+        } finally {
+            partitionsLock.readLock().unlock();
+        }
+    }
+
+    private IndexPartition partitionFor(long timestamp) throws IOException {
+        IndexPartition partition = findPartition(timestamp);
+        if (partition != null) {
+            return partition;
+        }
+
+        partitionsLock.writeLock().lock();
+        try {
+            partition = findPartition(timestamp);
+            if (partition == null) {
+                long epochDay = Math.floorDiv(timestamp, TimeUnit.DAYS.toMillis(1));
+                LocalDate start = LocalDate.ofEpochDay(Math.floorDiv(epochDay, partitionDays) * partitionDays);
+                partition = IndexPartition.open(root, start, partitionDays, analyzer, settings, refreshListener);
+                partitions.put(partition.startMillis(), partition);
+                System.out.println("🗂️ Created index partition " + partition.name());
+            }
+            return partition;
+        } finally {
+            partitionsLock.writeLock().unlock();
+        }
+    }
+
+    private IndexPartition findPartition(long timestamp) {
+        Map.Entry<Long, IndexPartition> entry = partitions.floorEntry(timestamp);
+        return entry != null && entry.getValue().contains(timestamp) ? entry.getValue() : null;
+    }
+
+    /** Whether a document with this timestamp is already past retention. */
+    public boolean isExpired(long timestamp) {
+        return retentionMillis > 0 && timestamp < System.currentTimeMillis() - retentionMillis;
+    }
+
+    /* ---------------------------------------------------
+       SEARCHER ACQUIRE / RELEASE
+    --------------------------------------------------- */
+
+    /**
+     * Borrows a searcher over every partition. Every call must be paired
+     * with {@link #release(IndexSearcher)} in a finally block.
+     */
+    public IndexSearcher acquire() throws IOException {
+        return acquire(Long.MIN_VALUE);
+    }
+
+    /**
+     * Borrows a searcher over only the partitions that may hold documents
+     * with a timestamp of {@code minTimestamp} or later; older partitions
+     * are not opened at all.
+     */
+    public IndexSearcher acquire(long minTimestamp) throws IOException {
+        List<DirectoryReader> readers = new ArrayList<>();
+        partitionsLock.readLock().lock();
+        try {
+            for (IndexPartition partition : partitions.values()) {
+                if (partition.endMillis() > minTimestamp) {
+                    readers.add(partition.acquire());
+                }
+            }
+            // the MultiReader takes its own reference on each partition reader
+            MultiReader reader = new MultiReader(readers.toArray(IndexReader[]::new), false);
+            return new IndexSearcher(reader, searchExecutor);
+        } finally {
+            for (DirectoryReader reader : readers) {
+                reader.decRef();
+            }
+            partitionsLock.readLock().unlock();
+        }
+    }
+
+    public void release(IndexSearcher searcher) throws IOException {
+        searcher.getIndexReader().decRef();
+    }
+
+    /**
+     * Increases every time a refresh or a dropped partition changes what
+     * searchers see. Anything derived from search results can be tagged with
+     * it to detect staleness.
+     */
+    public long searcherGeneration() {
+        return searcherGeneration.get();
+    }
+
+    /**
+     * Registers a callback that runs after each background refresh;
+     * {@code didRefresh} is {@code true} when a new reader was opened.
+     */
+    public void addRefreshListener(RefreshCallback callback) {
+        refreshCallbacks.add(callback);
+    }
+
+    @FunctionalInterface
+    public interface RefreshCallback {
+        void afterRefresh(boolean didRefresh) throws IOException;
+    }
+
+    private void notifyRefresh(boolean didRefresh) throws IOException {
+        for (RefreshCallback callback : refreshCallbacks) {
+            callback.afterRefresh(didRefresh);
+        }
+    }
+
+    /**
+     * Blocks until every write made so far is visible to newly acquired
+     * searchers.
+     */
+    public void refresh() throws IOException {
+        partitionsLock.readLock().lock();
+        try {
+            for (IndexPartition partition : partitions.values()) {
+                partition.refresh();
+            }
+        } finally {
+            partitionsLock.readLock().unlock();
+        }
+    }
+
+    /* ---------------------------------------------------
+       HEALTH
+    --------------------------------------------------- */
+
+    /** Point-in-time segment, document and refresh figures over all partitions. */
+    public IndexStats stats() throws IOException {
+        IndexStats.Builder stats = new IndexStats.Builder();
+        partitionsLock.readLock().lock();
+        try {
+            for (IndexPartition partition : partitions.values()) {
+                partition.addStats(stats);
+            }
+        } finally {
+            partitionsLock.readLock().unlock();
+        }
+        return stats.build();
+    }
+
+    /* ---------------------------------------------------
+       RETENTION
+    --------------------------------------------------- */
+
+    /** Deletes the directories of partitions that ended before the retention window. */
+    @Scheduled(fixedDelayString = "${swiftseek.index.retention-check-ms:3600000}")
+    public void dropExpiredPartitions() throws IOException {
+        if (retentionMillis <= 0) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+
+        List<IndexPartition> expired = new ArrayList<>();
+        partitionsLock.writeLock().lock();
+        try {
+            for (IndexPartition partition : partitions.values()) {
+                if (partition.endMillis() <= cutoff) {
+                    expired.add(partition);
+                }
+            }
+            for (IndexPartition partition : expired) {
+                partitions.remove(partition.startMillis());
+            }
+        } finally {
+            partitionsLock.writeLock().unlock();
+        }
+
+        if (expired.isEmpty()) {
+            return;
+        }
+        for (IndexPartition partition : expired) {
+            try {
+                partition.drop();
+                System.out.println("🗑️ Dropped expired index partition " + partition.name());
+            } catch (IOException e) {
+                System.err.println("❌ Failed to drop partition " + partition.name() + ": " + e.getMessage());
+            }
+        }
+        notifyRefresh(true);
+    }
+
+    /* ---------------------------------------------------
+       DURABILITY
+    --------------------------------------------------- */
+
+    public void commit() throws IOException {
+        partitionsLock.readLock().lock();
+        try {
+            for (IndexPartition partition : partitions.values()) {
+                partition.commit();
+            }
+        } finally {
+            partitionsLock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        partitionsLock.writeLock().lock();
+        try {
+            for (IndexPartition partition : partitions.values()) {
+                partition.close();
+            }
+            partitions.clear();
+        } finally {
+            partitionsLock.writeLock().unlock();
+            if (searchExecutor != null) {
+                searchExecutor.shutdown();
+            }
+        }
+    }
+}
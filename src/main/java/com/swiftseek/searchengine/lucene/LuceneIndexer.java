@@ -2,85 +2,105 @@ package com.swiftseek.searchengine.lucene;
 
 import java.io.IOException;
 import java.net.URI;
-import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
-import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.*;
 import org.apache.lucene.index.*;
-import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.stereotype.Component;
 
+@Component
 public class LuceneIndexer {
 
-    private static final String INDEX_PATH = "D:/searchengine/index";
-    private static Directory directory;
-    private static final StandardAnalyzer analyzer = new StandardAnalyzer();
-
+    /**
+     * Body text: analyzed, stored, and with character offsets in the postings
+     * so the highlighter can cut snippets without re-analyzing the content.
+     */
+    private static final FieldType CONTENT_TYPE = new FieldType(TextField.TYPE_STORED);
     static {
-        try {
-            directory = FSDirectory.open(Paths.get(INDEX_PATH));
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to open Lucene index", e);
-        }
+        CONTENT_TYPE.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        CONTENT_TYPE.freeze();
+    }
+
+    /** Time-bucket facet value: the UTC calendar day of the crawl time. */
+    static final DateTimeFormatter DAY_BUCKET = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+
+    private final LuceneIndexManager indexManager;
+    private final List<Consumer<String>> titleListeners = new CopyOnWriteArrayList<>();
+
+    public LuceneIndexer(LuceneIndexManager indexManager) {
+        this.indexManager = indexManager;
+    }
+
+    /**
+     * Registers a callback for the title of every page written, run on the
+     * indexing thread (so it must not block).
+     */
+    public void addTitleListener(Consumer<String> listener) {
+        titleListeners.add(listener);
     }
 
-    public static Directory getDirectory() {
-        return directory;
+    private void notifyTitle(String title) {
+        for (Consumer<String> listener : titleListeners) {
+            listener.accept(title);
+        }
     }
 
     /* ---------------------------------------------------
        SAMPLE DATA (SAFE & IDEMPOTENT)
     --------------------------------------------------- */
 
-    public static void indexSampleData() throws IOException {
-
-        IndexWriterConfig config = new IndexWriterConfig(analyzer);
-        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
-
-        try (IndexWriter writer = new IndexWriter(directory, config)) {
-
-            Document doc1 = createDoc(
-                    "Java Basics Tutorial",
-                    "https://example.com/java-basics",
-                    "Learn Java from scratch with examples."
-            );
-            writer.updateDocument(
-                    new Term("id", "https://example.com/java-basics"),
-                    doc1
-            );
-
-            Document doc2 = createDoc(
-                    "Spring Boot Search Engine",
-                    "https://example.com/spring-search",
-                    "Build a fast search engine using Spring Boot and Lucene."
-            );
-            writer.updateDocument(
-                    new Term("id", "https://example.com/spring-search"),
-                    doc2
-            );
-        }
+    public void indexSampleData() throws IOException {
+
+        indexPage(
+                "Java Basics Tutorial",
+                "https://example.com/java-basics",
+                "Learn Java from scratch with examples."
+        );
+
+        indexPage(
+                "Spring Boot Search Engine",
+                "https://example.com/spring-search",
+                "Build a fast search engine using Spring Boot and Lucene."
+        );
     }
 
     /* ---------------------------------------------------
        SHARED DOCUMENT BUILDER
     --------------------------------------------------- */
 
-    private static Document createDoc(String title, String url, String content) {
+    static Document createDoc(
+            String title,
+            String url,
+            String content,
+            String domain,
+            long crawlTime
+    ) {
 
         Document doc = new Document();
 
         doc.add(new TextField("title", title, Field.Store.YES));
-        doc.add(new TextField("content", content, Field.Store.YES));
+        doc.add(new Field("content", content, CONTENT_TYPE));
 
         doc.add(new StringField("id", url, Field.Store.NO));
         doc.add(new StringField("url", url, Field.Store.YES));
 
-        String domain = URI.create(url).getHost();
         doc.add(new StringField("domain", domain, Field.Store.YES));
+        doc.add(new SortedSetDocValuesField("domain", new BytesRef(domain)));
+        doc.add(new SortedSetDocValuesField("day",
+                new BytesRef(DAY_BUCKET.format(Instant.ofEpochMilli(crawlTime)))));
 
-        long now = System.currentTimeMillis();
-        doc.add(new LongPoint("timestamp", now));
-        doc.add(new StoredField("timestamp_store", now));
+        doc.add(new LongPoint("timestamp", crawlTime));
+        doc.add(new NumericDocValuesField("timestamp", crawlTime));
+        doc.add(new StoredField("timestamp_store", crawlTime));
 
         return doc;
     }
@@ -89,8 +109,8 @@ public class LuceneIndexer {
        BACKWARD COMPATIBLE METHOD
     --------------------------------------------------- */
 
-    public static void indexPage(String title, String url, String content)
-            throws Exception {
+    public void indexPage(String title, String url, String content)
+            throws IOException {
 
         indexPage(
                 title,
@@ -105,32 +125,51 @@ public class LuceneIndexer {
        REAL CRAWLER INDEXING METHOD
     --------------------------------------------------- */
 
-    public static void indexPage(
+    /**
+     * Adds or replaces the document for {@code url} in the writer buffer of
+     * the partition covering {@code crawlTime}. Call
+     * {@link LuceneIndexManager#refresh()} to read your own write.
+     */
+    public void indexPage(
             String title,
             String url,
             String content,
             String domain,
             long crawlTime
-    ) throws Exception {
+    ) throws IOException {
 
-        IndexWriterConfig config = new IndexWriterConfig(analyzer);
-        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        Document doc = createDoc(title, url, content, domain, crawlTime);
 
-        try (IndexWriter writer = new IndexWriter(directory, config)) {
-
-            Document doc = new Document();
+        indexManager.updateDocument(new Term("id", url), doc, crawlTime);
+        notifyTitle(title);
+    }
 
-            doc.add(new TextField("title", title, Field.Store.YES));
-            doc.add(new TextField("content", content, Field.Store.YES));
+    /* ---------------------------------------------------
+       BATCH INDEXING (used by IndexingPipeline)
+    --------------------------------------------------- */
 
-            doc.add(new StringField("id", url, Field.Store.NO));
-            doc.add(new StringField("url", url, Field.Store.YES));
+    /**
+     * Writes a whole batch into the partition writers with one batch update
+     * per partition ({@link LuceneIndexManager#updateDocuments}). When the
+     * same URL appears more than once in a batch only the last version is
+     * written.
+     */
+    public void indexBatch(List<IndexRequest> batch) throws IOException {
+
+        Map<String, IndexRequest> latest = new LinkedHashMap<>();
+        for (IndexRequest request : batch) {
+            latest.put(request.url(), request);
+        }
 
-            doc.add(new StringField("domain", domain, Field.Store.YES));
-            doc.add(new LongPoint("timestamp", crawlTime));
-            doc.add(new StoredField("timestamp_store", crawlTime));
+        List<LuceneIndexManager.DocumentUpdate> updates = new ArrayList<>(latest.size());
+        for (IndexRequest r : latest.values()) {
+            Document doc = createDoc(r.title(), r.url(), r.content(), r.domain(), r.timestamp());
+            updates.add(new LuceneIndexManager.DocumentUpdate(new Term("id", r.url()), doc, r.timestamp()));
+        }
+        indexManager.updateDocuments(updates);
 
-            writer.updateDocument(new Term("id", url), doc);
+        for (IndexRequest r : latest.values()) {
+            notifyTitle(r.title());
         }
     }
 }
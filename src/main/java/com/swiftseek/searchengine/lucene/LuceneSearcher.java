@@ -1,34 +1,169 @@
 package com.swiftseek.searchengine.lucene;
 
-import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.LongPoint;
-import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.QueryTimeoutImpl;
+import org.apache.lucene.index.StoredFields;
 import org.apache.lucene.index.Term;
-import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queries.function.FunctionScoreQuery;
 import org.apache.lucene.search.*;
-import org.apache.lucene.store.Directory;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.LengthGoalBreakIterator;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
 
+import com.swiftseek.searchengine.util.StageTimer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.text.BreakIterator;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
+@Component
 public class LuceneSearcher {
 
-    public static Map<String, Object> search(
+    /** Stored fields a result needs; {@code content} is left to the highlighter. */
+    private static final Set<String> RESULT_FIELDS = Set.of("title", "url", "domain", "timestamp_store");
+
+    private static final int SNIPPET_LENGTH = 160;
+
+    private final LuceneIndexManager indexManager;
+    private final SearchQueryParser queryParser;
+    private final double freshnessMaxBoost;
+    private final double freshnessHalfLifeMillis;
+    private final int facetTopDomains;
+    private final int facetMaxDays;
+    private final long timeoutMillis;
+    private final Counter partialCounter;
+    private final Timer queryTimer;
+    private final Timer assemblyTimer;
+
+    public LuceneSearcher(
+            LuceneIndexManager indexManager,
+            SearchQueryParser queryParser,
+            MeterRegistry meterRegistry,
+            @Value("${swiftseek.ranking.freshness.max-boost:1.0}") double freshnessMaxBoost,
+            @Value("${swiftseek.ranking.freshness.half-life-hours:12}") double freshnessHalfLifeHours,
+            @Value("${swiftseek.facets.top-domains:10}") int facetTopDomains,
+            @Value("${swiftseek.facets.max-days:30}") int facetMaxDays,
+            @Value("${swiftseek.search.timeout-ms:500}") long timeoutMillis) {
+        this.indexManager = indexManager;
+        this.queryParser = queryParser;
+        this.freshnessMaxBoost = freshnessMaxBoost;
+        this.freshnessHalfLifeMillis = freshnessHalfLifeHours * TimeUnit.HOURS.toMillis(1);
+        this.facetTopDomains = facetTopDomains;
+        this.facetMaxDays = facetMaxDays;
+        this.timeoutMillis = timeoutMillis;
+        this.partialCounter = Counter.builder("swiftseek.search.partial")
+                .description("Searches cut off by the time budget")
+                .register(meterRegistry);
+        this.queryTimer = StageTimer.register(meterRegistry, "lucene-query");
+        this.assemblyTimer = StageTimer.register(meterRegistry, "assembly");
+    }
+
+    public SearchPage search(
             String queryStr,
             String domain,
             Integer days,
             int page,
             int size) throws Exception {
 
-        Directory directory = LuceneIndexer.getDirectory();
-        DirectoryReader reader = DirectoryReader.open(directory);
-        IndexSearcher searcher = new IndexSearcher(reader);
+        return search(queryStr, domain, days, page, size, null);
+    }
 
-        /* ---------- TEXT QUERY ---------- */
-        String[] fields = { "title", "content" };
-        MultiFieldQueryParser parser = new MultiFieldQueryParser(fields, new StandardAnalyzer());
+    /**
+     * Same as the offset variant, but when {@code cursor} (a {@code nextCursor}
+     * from an earlier response) is given, {@code page} is ignored and the page
+     * directly after the cursor is returned via {@code searchAfter}.
+     */
+    public SearchPage search(
+            String queryStr,
+            String domain,
+            Integer days,
+            int page,
+            int size,
+            String cursor) throws Exception {
+
+        return search(queryStr, domain, days, page, size, cursor, false);
+    }
+
+    /**
+     * With {@code facets}, the page also carries domain and day counts over
+     * all matching documents, gathered in the same collector pass as the hits.
+     */
+    public SearchPage search(
+            String queryStr,
+            String domain,
+            Integer days,
+            int page,
+            int size,
+            String cursor,
+            boolean facets) throws Exception {
+
+        PageCollector collector = new PageCollector(size);
+        search(queryStr, domain, days, page, size, cursor, facets, collector);
+        return collector.page();
+    }
+
+    /**
+     * Streaming variant: each hit is handed to {@code sink} as soon as its
+     * stored fields are loaded, while the searcher is still held. Nothing
+     * reaches the sink before the query has parsed and run, so a bad query
+     * still fails before any output is written.
+     *
+     * Collection stops after {@code swiftseek.search.timeout-ms}; the hits
+     * found until then are returned and {@link SearchHitSink#begin} is told
+     * the page is partial ({@code totalResults} is then a lower bound).
+     */
+    public void search(
+            String queryStr,
+            String domain,
+            Integer days,
+            int page,
+            int size,
+            String cursor,
+            boolean facets,
+            SearchHitSink sink) throws Exception {
+
+        SearchCursor after = cursor == null || cursor.isEmpty() ? null : SearchCursor.decode(cursor);
+        long now = after != null ? after.now() : System.currentTimeMillis();
+        Long since = days != null && days > 0 ? now - TimeUnit.DAYS.toMillis(days) : null;
+
+        // partitions that end before the day window are not even opened
+        IndexSearcher searcher = since != null ? indexManager.acquire(since) : indexManager.acquire();
+        try {
+            search(searcher, queryStr, domain, now, since, page, size, after, facets, sink);
+        } finally {
+            indexManager.release(searcher);
+        }
+    }
+
+    private void search(
+            IndexSearcher searcher,
+            String queryStr,
+            String domain,
+            long now,
+            Long since,
+            int page,
+            int size,
+            SearchCursor after,
+            boolean facets,
+            SearchHitSink sink) throws Exception {
+
+        long queryStart = System.nanoTime();
+        if (timeoutMillis > 0) {
+            // a fresh searcher per request, so the budget is this query's alone
+            searcher.setTimeout(new QueryTimeoutImpl(timeoutMillis));
+        }
 
-        Query textQuery = parser.parse(queryStr);
+        /* ---------- TEXT QUERY ---------- */
+        Query textQuery = queryParser.parse(queryStr);
 
         BooleanQuery.Builder finalQuery = new BooleanQuery.Builder();
         finalQuery.add(textQuery, BooleanClause.Occur.MUST);
@@ -40,94 +175,138 @@ public class LuceneSearcher {
         }
 
         /* ---------- DATE FILTER ---------- */
-        if (days != null && days > 0) {
-            long now = System.currentTimeMillis();
-            long past = now - (days * 24L * 60 * 60 * 1000);
-
+        if (since != null) {
             Query dateQuery = LongPoint.newRangeQuery(
                     "timestamp",
-                    past,
+                    since,
                     now);
             finalQuery.add(dateQuery, BooleanClause.Occur.FILTER);
         }
 
-        /* ---------- PAGINATION ---------- */
-        int start = page * size;
-        int end = start + size;
-
-        TopDocs topDocs = searcher.search(finalQuery.build(), start + size);
-        ScoreDoc[] hits = topDocs.scoreDocs;
-
-        List<Map<String, String>> results = new ArrayList<>();
-
-for (int i = start; i < Math.min(end, hits.length); i++) {
+        /* ---------- FRESHNESS (part of the score, so it ranks every hit) ---------- */
+        Query rankedQuery = FunctionScoreQuery.boostByValue(
+                finalQuery.build(),
+                new FreshnessBoostSource("timestamp", now, freshnessMaxBoost, freshnessHalfLifeMillis));
+
+        /* ---------- PAGINATION (cursor: constant cost, offset: shallow pages) ---------- */
+        int start = after != null ? 0 : page * size;
+        ScoreDoc afterDoc = after != null ? after.after() : null;
+
+        TopDocs topDocs;
+        SearchFacets facetCounts = null;
+        if (facets) {
+            /* ---------- FACETS (same pass: top docs + doc-values counts) ---------- */
+            Object[] collected = searcher.search(rankedQuery, new MultiCollectorManager(
+                    TopScoreDocCollector.createSharedManager(Math.max(1, start + size), afterDoc, Integer.MAX_VALUE),
+                    new FacetCollectorManager(facetTopDomains, facetMaxDays)));
+            topDocs = (TopDocs) collected[0];
+            facetCounts = (SearchFacets) collected[1];
+        } else if (afterDoc != null) {
+            topDocs = searcher.searchAfter(afterDoc, rankedQuery, size);
+        } else {
+            topDocs = searcher.search(rankedQuery, start + size);
+        }
+        long assemblyStart = System.nanoTime();
+        queryTimer.record(assemblyStart - queryStart, TimeUnit.NANOSECONDS);
 
-    ScoreDoc scoreDoc = hits[i];
-    Document doc = searcher.doc(scoreDoc.doc);
+        boolean partial = searcher.timedOut();
+        if (partial) {
+            partialCounter.increment();
+        }
 
-    long timestamp = Long.parseLong(doc.get("timestamp_store"));
-    double freshness = freshnessBoost(timestamp);
+        int end = start + size;
+        ScoreDoc[] hits = topDocs.scoreDocs;
 
-    double finalScore = scoreDoc.score * freshness;
+        ScoreDoc[] pageHits = start < hits.length
+                ? Arrays.copyOfRange(hits, start, Math.min(end, hits.length))
+                : new ScoreDoc[0];
 
-    Map<String, String> result = new HashMap<>();
-    result.put("title", doc.get("title"));
-    result.put("url", doc.get("url"));
-    result.put("snippet", buildSnippet(doc.get("content"), queryStr));
-    result.put("domain", doc.get("domain"));
-    result.put("crawlTime", doc.get("timestamp_store"));
-    result.put("score", String.valueOf(finalScore));
+        /* ---------- SNIPPETS (offsets from postings, best-scoring passage) ---------- */
+        String[] snippets = snippets(searcher, textQuery, new TopDocs(topDocs.totalHits, pageHits));
 
-    results.add(result);
-}
-    // 🔹 Sort by boosted (freshness-aware) score
-results.sort((a, b) ->
-        Double.compare(
-                Double.parseDouble(b.get("score")),
-                Double.parseDouble(a.get("score"))
-        )
-);
+        StoredFields storedFields = searcher.storedFields();
+        sink.begin(topDocs.totalHits.value, partial);
+        if (facetCounts != null) {
+            sink.facets(facetCounts);
+        }
 
+        for (int i = 0; i < pageHits.length; i++) {
 
+            ScoreDoc scoreDoc = pageHits[i];
+            Document doc = storedFields.document(scoreDoc.doc, RESULT_FIELDS);
+            IndexableField crawlTime = doc.getField("timestamp_store");
 
-        reader.close();
+            sink.hit(new SearchHit(
+                    doc.get("title"),
+                    doc.get("url"),
+                    snippets[i] == null ? "" : snippets[i],
+                    doc.get("domain"),
+                    crawlTime == null ? 0L : crawlTime.numericValue().longValue(),
+                    scoreDoc.score));
+        }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("totalResults", topDocs.totalHits.value);
-        response.put("results", results);
+        // a full page may have a successor; an empty follow-up page ends the walk
+        sink.end(hits.length >= end && size > 0
+                ? new SearchCursor(hits[end - 1], now).encode()
+                : null);
 
-        return response;
+        // for a streamed page this includes writing the hits to the client
+        assemblyTimer.record(System.nanoTime() - assemblyStart, TimeUnit.NANOSECONDS);
     }
-    private static String buildSnippet(String content, String query) {
-    if (content == null || content.isEmpty()) return "";
-
-    String lower = content.toLowerCase();
-    String q = query.toLowerCase();
 
-    int index = lower.indexOf(q);
-    if (index == -1) {
-        return content.substring(0, Math.min(160, content.length())) + "...";
+    /**
+     * One snippet per hit, in hit order. Snippets come back HTML-escaped with
+     * matches wrapped in {@code <mark>}; a hit that only matched on the title
+     * gets its opening passage.
+     */
+    String[] snippets(IndexSearcher searcher, Query textQuery, TopDocs hits) throws IOException {
+        return UnifiedHighlighter.builder(searcher, indexManager.analyzer())
+                .withBreakIterator(() -> LengthGoalBreakIterator.createClosestToLength(
+                        BreakIterator.getSentenceInstance(Locale.ROOT), SNIPPET_LENGTH, 0.5f))
+                .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", "... ", true))
+                .withMaxNoHighlightPassages(1)
+                .withHandleMultiTermQuery(true)
+                .withHighlightPhrasesStrictly(true)
+                .build()
+                .highlight("content", textQuery, hits, 1);
     }
 
-    int start = Math.max(0, index - 60);
-    int end = Math.min(content.length(), index + q.length() + 100);
+    /** Buffers a streamed page into a {@link SearchPage}. */
+    private static final class PageCollector implements SearchHitSink {
 
-    return content.substring(start, end)
-            .replaceAll("\\s+", " ")
-            + "...";
-}
+        private final List<SearchHit> hits;
+        private long totalResults;
+        private boolean partial;
+        private String nextCursor;
+        private SearchFacets facets;
+
+        PageCollector(int size) {
+            this.hits = new ArrayList<>(Math.max(0, size));
+        }
 
-private static double freshnessBoost(long timestamp) {
-    long ageMillis = System.currentTimeMillis() - timestamp;
-    long ageHours = ageMillis / (1000 * 60 * 60);
+        @Override
+        public void begin(long totalResults, boolean partial) {
+            this.totalResults = totalResults;
+            this.partial = partial;
+        }
 
-    if (ageHours < 1) return 2.0;        // last 1 hour
-    if (ageHours < 6) return 1.7;
-    if (ageHours < 24) return 1.4;
-    if (ageHours < 72) return 1.1;
+        @Override
+        public void facets(SearchFacets facets) {
+            this.facets = facets;
+        }
 
-    return 1.0; // older news
-}
+        @Override
+        public void hit(SearchHit hit) {
+            hits.add(hit);
+        }
 
+        @Override
+        public void end(String nextCursor) {
+            this.nextCursor = nextCursor;
+        }
 
+        SearchPage page() {
+            return new SearchPage(totalResults, List.copyOf(hits), nextCursor, facets, partial);
+        }
+    }
 }
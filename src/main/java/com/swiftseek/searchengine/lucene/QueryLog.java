@@ -0,0 +1,130 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * How often each query was searched recently, so a fresh instance can warm
+ * its index with the queries users actually send ({@link IndexWarmup}) and
+ * typeahead can rank what users actually look for ({@link TitleSuggester}).
+ *
+ * Queries are counted per whitespace-normalized text. A query nobody
+ * searched for {@code window-hours} is forgotten, and at most
+ * {@code max-entries} queries are tracked. The counts are written to
+ * {@code path} (one {@code count<TAB>query} line per query, most frequent
+ * first) periodically and on shutdown, and reloaded on startup.
+ */
+@Component
+public class QueryLog {
+
+    private final Path path;
+    private final Cache<String, LongAdder> counts;
+
+    public QueryLog(
+            @Value("${swiftseek.query-log.path:data/query-log.tsv}") String path,
+            @Value("${swiftseek.query-log.max-entries:10000}") long maxEntries,
+            @Value("${swiftseek.query-log.window-hours:168}") long windowHours) {
+
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofHours(windowHours))
+                .build();
+    }
+
+    public void record(String query) {
+        String normalized = SearchQueryParser.normalize(query);
+        if (!normalized.isEmpty()) {
+            counts.get(normalized, q -> new LongAdder()).increment();
+        }
+    }
+
+    /** Up to {@code limit} queries, most frequent first. */
+    public List<String> top(int limit) {
+        return sorted().stream()
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /** Snapshot of every tracked query and its count. */
+    public Map<String, Long> counts() {
+        Map<String, Long> snapshot = new HashMap<>();
+        counts.asMap().forEach((query, count) -> snapshot.put(query, count.sum()));
+        return snapshot;
+    }
+
+    private List<Map.Entry<String, Long>> sorted() {
+        return counts.asMap().entrySet().stream()
+                .map(e -> Map.entry(e.getKey(), e.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .toList();
+    }
+
+    /* ---------------------------------------------------
+       PERSISTENCE
+    --------------------------------------------------- */
+
+    @PostConstruct
+    public void load() {
+        if (path == null || !Files.isRegularFile(path)) return;
+        try {
+            int loaded = 0;
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab <= 0) continue;
+                LongAdder count = new LongAdder();
+                count.add(Long.parseLong(line.substring(0, tab)));
+                counts.put(line.substring(tab + 1), count);
+                loaded++;
+            }
+            System.out.println("🧠 Loaded " + loaded + " logged queries from " + path);
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("❌ Ignoring unreadable query log: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${swiftseek.query-log.snapshot-interval-ms:300000}",
+            fixedDelayString = "${swiftseek.query-log.snapshot-interval-ms:300000}")
+    @PreDestroy
+    public void snapshot() {
+        if (path == null) return;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> entry : sorted()) {
+                    out.write(entry.getValue() + "\t" + entry.getKey());
+                    out.newLine();
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("❌ Failed to write query log: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import org.apache.lucene.search.ScoreDoc;
+
+/**
+ * Opaque deep-paging cursor: the score and doc id of the last hit of a page
+ * plus the reference time the page was scored at, URL-safe base64 encoded.
+ *
+ * The position is passed to
+ * {@link org.apache.lucene.search.IndexSearcher#searchAfter} so every page
+ * costs the same regardless of depth. Reusing the reference time keeps the
+ * freshness boost (and the day filter) identical from page to page, so hits
+ * cannot drift across the cursor as they age.
+ *
+ * The doc id only breaks score ties, and it is an id in the partitioned
+ * reader of the moment: it shifts whenever a segment is merged (which
+ * near-real-time indexing does all the time), a partition is added or
+ * retention drops one. Scores move too as documents are added. So a cursor
+ * marks a position in the ranking, not a document: followed after the index
+ * changed, it may skip or repeat a few hits around that position, but it
+ * never fails.
+ */
+public record SearchCursor(ScoreDoc after, long now) {
+
+    private static final byte VERSION = 1;
+    private static final int LENGTH = 1 + Float.BYTES + Integer.BYTES + Long.BYTES;
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .put(VERSION)
+                .putFloat(after.score)
+                .putInt(after.doc)
+                .putLong(now);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static SearchCursor decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Malformed cursor", e);
+        }
+        if (bytes.length != LENGTH || bytes[0] != VERSION) {
+            throw new InvalidQueryException("Malformed cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, LENGTH - 1);
+        float score = buffer.getFloat();
+        int doc = buffer.getInt();
+        long now = buffer.getLong();
+        return new SearchCursor(new ScoreDoc(doc, score), now);
+    }
+}
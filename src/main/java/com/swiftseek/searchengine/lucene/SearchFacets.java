@@ -0,0 +1,11 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.util.List;
+
+/**
+ * Facet counts over every document matching the query (not just the
+ * returned page): the top domains by count, and per-day counts (UTC
+ * {@code yyyy-MM-dd}) newest first.
+ */
+public record SearchFacets(List<FacetCount> domains, List<FacetCount> days) {
+}
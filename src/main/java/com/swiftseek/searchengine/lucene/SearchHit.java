@@ -0,0 +1,14 @@
+package com.swiftseek.searchengine.lucene;
+
+/**
+ * One search result. {@code snippet} is HTML-escaped with the matched terms
+ * wrapped in {@code <mark>}; {@code crawlTime} is epoch millis.
+ */
+public record SearchHit(
+        String title,
+        String url,
+        String snippet,
+        String domain,
+        long crawlTime,
+        float score) {
+}
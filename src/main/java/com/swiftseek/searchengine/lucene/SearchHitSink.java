@@ -0,0 +1,26 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+
+/**
+ * Receives a result page as the searcher produces it: {@link #begin} once
+ * the total is known, {@link #facets} if they were requested, {@link #hit}
+ * for each result in rank order, then {@link #end}. Lets a caller write
+ * hits to the response without building the whole page first.
+ */
+public interface SearchHitSink {
+
+    /**
+     * {@code partial} when the search ran out of time: the hits that follow
+     * are the best found so far and {@code totalResults} is a lower bound.
+     */
+    void begin(long totalResults, boolean partial) throws IOException;
+
+    default void facets(SearchFacets facets) throws IOException {
+    }
+
+    void hit(SearchHit hit) throws IOException;
+
+    /** {@code nextCursor} is null when there is no following page. */
+    void end(String nextCursor) throws IOException;
+}
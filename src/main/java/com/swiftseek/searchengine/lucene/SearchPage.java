@@ -0,0 +1,20 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A page of results as returned by {@code /search}. {@code nextCursor} is
+ * only present when a following page may exist, {@code facets} only when
+ * they were requested. {@code partial} is only present (as {@code true})
+ * when the search hit its time budget: the results are the best found in
+ * time and {@code totalResults} is a lower bound.
+ */
+public record SearchPage(
+        long totalResults,
+        List<SearchHit> results,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String nextCursor,
+        @JsonInclude(JsonInclude.Include.NON_NULL) SearchFacets facets,
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean partial) {
+}
@@ -0,0 +1,253 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.RegexpQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.automaton.ByteRunAutomaton;
+import org.apache.lucene.util.automaton.Operations;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Turns the text of the {@code q} parameter into the Lucene text query.
+ *
+ * The analyzer, field boosts and parser settings are fixed at startup, and
+ * parsed queries are cached per whitespace-normalized query string, so a hot
+ * query is never parsed or analyzed twice. {@code Query} objects are
+ * immutable and safe to share between threads; the (non thread-safe) classic
+ * parser is only used inside the cache loader.
+ *
+ * Rewrites on top of the classic syntax:
+ * <ul>
+ *   <li>plain multi-word input (no operators, quotes, fields or wildcards)
+ *       also gets an optional sloppy phrase clause per field, so documents
+ *       with the words close together rank first;</li>
+ *   <li>prefix terms ({@code jav*}), wildcard terms ({@code ja?a}) and
+ *       regexps ({@code /jav.+/}) need at least {@code min-prefix-length}
+ *       literal characters before anything can vary, and leading wildcards
+ *       are rejected, since without a prefix they expand to most of the term
+ *       dictionary;</li>
+ *   <li>fuzzy terms ({@code jvaa~}) keep their first {@code min-prefix-length}
+ *       characters fixed, for the same reason.</li>
+ * </ul>
+ *
+ * Complexity limits, checked before anything runs: at most
+ * {@code max-length} characters, {@code max-clauses} term clauses (every
+ * word counts once per searched field) and {@code max-multi-term-clauses}
+ * wildcard, prefix, fuzzy, regexp or range clauses, whose term expansion
+ * is not covered by the search time budget.
+ *
+ * Syntax errors surface as {@link InvalidQueryException} (400).
+ * Cache statistics are published as {@code cache.*} meters with
+ * {@code cache=parsedQuery}.
+ */
+@Component
+public class SearchQueryParser {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** Anything that makes the input more than a bag of words. */
+    private static final Pattern SYNTAX = Pattern.compile("[\"+\\-!():^\\[\\]{}~*?\\\\/]|\\b(AND|OR|NOT)\\b");
+
+    private static final Pattern PREFIX_TERM = Pattern.compile("(?:^|[\\s(:+\\-])([^\\s(:+\\-*?]*)\\*(?=$|[\\s)])");
+
+    private static final String[] FIELDS = { "title", "content" };
+
+    private static final int PHRASE_SLOP = 2;
+
+    private final Analyzer analyzer;
+    private final Map<String, Float> fieldBoosts;
+    private final float phraseBoost;
+    private final int minPrefixLength;
+    private final int maxLength;
+    private final int maxClauses;
+    private final int maxMultiTermClauses;
+    private final QueryBuilder phraseBuilder;
+    private final Cache<String, Query> cache;
+
+    public SearchQueryParser(
+            LuceneIndexManager indexManager,
+            MeterRegistry meterRegistry,
+            @Value("${swiftseek.query.title-boost:2.0}") float titleBoost,
+            @Value("${swiftseek.query.content-boost:1.0}") float contentBoost,
+            @Value("${swiftseek.query.phrase-boost:1.5}") float phraseBoost,
+            @Value("${swiftseek.query.min-prefix-length:2}") int minPrefixLength,
+            @Value("${swiftseek.query.max-length:256}") int maxLength,
+            @Value("${swiftseek.query.max-clauses:64}") int maxClauses,
+            @Value("${swiftseek.query.max-multi-term-clauses:8}") int maxMultiTermClauses,
+            @Value("${swiftseek.query-cache.max-entries:10000}") long maxEntries) {
+
+        this.analyzer = indexManager.analyzer();
+        this.fieldBoosts = Map.of("title", titleBoost, "content", contentBoost);
+        this.phraseBoost = phraseBoost;
+        this.minPrefixLength = minPrefixLength;
+        this.maxLength = maxLength;
+        this.maxClauses = maxClauses;
+        this.maxMultiTermClauses = maxMultiTermClauses;
+        this.phraseBuilder = new QueryBuilder(analyzer);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "parsedQuery");
+    }
+
+    /**
+     * Returns the text query for {@code queryText}, from the cache when the
+     * same (whitespace-normalized) text was parsed before.
+     */
+    public Query parse(String queryText) {
+        String normalized = normalize(queryText);
+        if (normalized.isEmpty()) {
+            throw new InvalidQueryException("Query must not be empty");
+        }
+        if (normalized.length() > maxLength) {
+            throw new InvalidQueryException("Query is longer than " + maxLength + " characters");
+        }
+        return cache.get(normalized, this::build);
+    }
+
+    /** Whitespace only: case matters for AND/OR/NOT in query syntax. */
+    static String normalize(String queryText) {
+        if (queryText == null) return "";
+        return WHITESPACE.matcher(queryText.trim()).replaceAll(" ");
+    }
+
+    /* ---------------------------------------------------
+       PARSING + REWRITES (cache loader)
+    --------------------------------------------------- */
+
+    private Query build(String queryText) {
+        checkPrefixTerms(queryText);
+
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(FIELDS, analyzer, fieldBoosts);
+        parser.setAllowLeadingWildcard(false);
+        parser.setFuzzyPrefixLength(minPrefixLength);
+
+        Query parsed;
+        try {
+            parsed = parser.parse(queryText);
+        } catch (ParseException | IllegalArgumentException e) {
+            throw new InvalidQueryException("Invalid query: " + queryText, e);
+        } catch (IndexSearcher.TooManyClauses e) {
+            throw new InvalidQueryException("Query has too many clauses: " + queryText, e);
+        }
+        checkComplexity(parsed, queryText);
+
+        if (SYNTAX.matcher(queryText).find() || queryText.indexOf(' ') < 0) {
+            return parsed;
+        }
+        return withPhraseBoost(parsed, queryText);
+    }
+
+    /** {@code parsed} stays required; the per-field phrases only add score. */
+    private Query withPhraseBoost(Query parsed, String queryText) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(parsed, BooleanClause.Occur.MUST);
+
+        for (String field : FIELDS) {
+            Query phrase = phraseBuilder.createPhraseQuery(field, queryText, PHRASE_SLOP);
+            if (phrase != null) {
+                builder.add(new BoostQuery(phrase, phraseBoost * fieldBoosts.get(field)), BooleanClause.Occur.SHOULD);
+            }
+        }
+        return builder.build();
+    }
+
+    private void checkPrefixTerms(String queryText) {
+        var matcher = PREFIX_TERM.matcher(queryText);
+        while (matcher.find()) {
+            if (matcher.group(1).length() < minPrefixLength) {
+                throw new InvalidQueryException("Prefix queries need at least "
+                        + minPrefixLength + " characters before '*': " + queryText);
+            }
+        }
+    }
+
+    /** Counts the leaves of the parsed query (before the phrase rewrite). */
+    private void checkComplexity(Query parsed, String queryText) {
+        ClauseCounter counter = new ClauseCounter();
+        parsed.visit(counter);
+
+        if (counter.clauses > maxClauses) {
+            throw new InvalidQueryException("Query has more than " + maxClauses + " clauses: " + queryText);
+        }
+        if (counter.multiTermClauses > maxMultiTermClauses) {
+            throw new InvalidQueryException("Query has more than " + maxMultiTermClauses
+                    + " wildcard, fuzzy or range terms: " + queryText);
+        }
+        if (counter.shortestLiteralPrefix < minPrefixLength) {
+            throw new InvalidQueryException("Wildcard, regexp and fuzzy queries need at least "
+                    + minPrefixLength + " fixed characters at the start: " + queryText);
+        }
+    }
+
+    private static final class ClauseCounter extends QueryVisitor {
+
+        int clauses;
+        int multiTermClauses;
+        int shortestLiteralPrefix = Integer.MAX_VALUE;
+
+        @Override
+        public void consumeTerms(Query query, Term... terms) {
+            clauses++;
+        }
+
+        @Override
+        public void consumeTermsMatching(Query query, String field, Supplier<ByteRunAutomaton> automaton) {
+            clauses++;
+            multiTermClauses++;
+            // expanding these walks the term dictionary during rewrite, outside
+            // the search time budget, so only a fixed prefix keeps them cheap
+            if (query instanceof WildcardQuery wildcard) {
+                fixedPrefix(literalPrefix(wildcard.getTerm().text()));
+            } else if (query instanceof RegexpQuery regexp) {
+                fixedPrefix(Operations.getCommonPrefix(regexp.getAutomaton()).length());
+            } else if (query instanceof FuzzyQuery fuzzy) {
+                fixedPrefix(Math.min(fuzzy.getPrefixLength(), fuzzy.getTerm().text().length()));
+            }
+        }
+
+        private void fixedPrefix(int length) {
+            shortestLiteralPrefix = Math.min(shortestLiteralPrefix, length);
+        }
+
+        @Override
+        public void visitLeaf(Query query) {
+            clauses++;
+        }
+
+        private static int literalPrefix(String pattern) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c == WildcardQuery.WILDCARD_STRING || c == WildcardQuery.WILDCARD_CHAR
+                        || c == WildcardQuery.WILDCARD_ESCAPE) {
+                    return i;
+                }
+            }
+            return pattern.length();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Set;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
+
+/**
+ * Re-creates index documents from the stored fields of an existing index.
+ *
+ * Every schema so far stores {@code title}, {@code content}, {@code url},
+ * {@code domain} and {@code timestamp_store}, so any older index can be
+ * carried into the current schema (new doc values, offsets, ...) without
+ * re-crawling: each live document is rebuilt with the current
+ * {@link LuceneIndexer} document builder and handed to a {@link Sink}.
+ */
+final class StoredDocuments {
+
+    private static final Set<String> FIELDS = Set.of("title", "content", "url", "domain", "timestamp_store");
+
+    @FunctionalInterface
+    interface Sink {
+        void accept(Term id, Document doc, long timestamp) throws IOException;
+    }
+
+    private StoredDocuments() {
+    }
+
+    /**
+     * Feeds every live document of {@code source} to {@code sink} and
+     * returns how many were passed on. Documents without a stored URL, or
+     * whose site has to be taken from a malformed one, cannot be rebuilt;
+     * they are skipped and counted, so one bad document does not stop a
+     * rebuild or migration.
+     */
+    static long copy(Directory source, Sink sink) throws IOException {
+        long copied = 0;
+        long skipped = 0;
+        long now = System.currentTimeMillis();
+        try (DirectoryReader reader = DirectoryReader.open(source)) {
+            for (LeafReaderContext leaf : reader.leaves()) {
+                LeafReader leafReader = leaf.reader();
+                Bits liveDocs = leafReader.getLiveDocs();
+                StoredFields storedFields = leafReader.storedFields();
+
+                for (int doc = 0; doc < leafReader.maxDoc(); doc++) {
+                    if (liveDocs != null && !liveDocs.get(doc)) continue;
+
+                    Document stored = storedFields.document(doc, FIELDS);
+                    String url = stored.get("url");
+                    String domain = stored.get("domain");
+                    if (domain == null && url != null) {
+                        domain = hostOf(url);
+                    }
+                    if (url == null || domain == null) {
+                        skipped++;
+                        continue;
+                    }
+
+                    IndexableField time = stored.getField("timestamp_store");
+                    long timestamp = time == null ? now : time.numericValue().longValue();
+
+                    sink.accept(new Term("id", url), LuceneIndexer.createDoc(
+                            orEmpty(stored.get("title")),
+                            url,
+                            orEmpty(stored.get("content")),
+                            domain,
+                            timestamp), timestamp);
+                    copied++;
+                }
+            }
+        }
+        if (skipped > 0) {
+            System.err.println("⚠️ Skipped " + skipped + " stored documents without a usable URL");
+        }
+        return copied;
+    }
+
+    /** Host of {@code url}, {@code ""} if it has none, {@code null} if it is malformed. */
+    private static String hostOf(String url) {
+        try {
+            return orEmpty(URI.create(url).getHost());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,362 @@
+package com.swiftseek.searchengine.lucene;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.regex.Pattern;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.suggest.InputIterator;
+import org.apache.lucene.search.suggest.Lookup;
+import org.apache.lucene.search.suggest.analyzing.AnalyzingInfixSuggester;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Typeahead over indexed page titles and popular logged queries, backed by
+ * an {@link AnalyzingInfixSuggester}: every word of the input must match a
+ * word of the suggestion, the last one as a prefix ("spring boo" finds
+ * "Spring Boot Search Engine").
+ *
+ * Suggestions are ranked by popularity: a title or query weighs 1 plus how
+ * often each of its words was searched according to the {@link QueryLog}.
+ * Queries searched at least {@code min-query-count} times are suggested
+ * themselves.
+ *
+ * The suggester lives in its own small index under {@code path}, so a
+ * restart serves suggestions right away. It is rebuilt from scratch every
+ * {@code rebuild-interval-ms} (new weights, deleted pages gone); in between,
+ * titles of newly indexed pages are added every {@code refresh-ms}. Hot
+ * prefixes are answered from a result cache that every change clears
+ * ({@code cache-size=0} turns it off).
+ */
+@Component
+public class TitleSuggester {
+
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final Set<String> TITLE_FIELD = Set.of("title");
+    private static final Pattern WORD_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    /** Plain-word queries only: no field, boolean or phrase syntax. */
+    private static final Pattern PLAIN_QUERY = Pattern.compile("[\\p{L}\\p{N} ]+");
+
+    private final LuceneIndexManager indexManager;
+    private final QueryLog queryLog;
+    private final Directory directory;
+    private final AnalyzingInfixSuggester suggester;
+    private final Object writeLock = new Object();
+    private final BlockingQueue<String> pendingTitles;
+    private final Cache<String, List<String>> results;
+    private final long minQueryCount;
+    private final int maxEntries;
+    private final Timer lookupTimer;
+
+    private volatile Map<String, Long> wordCounts = Map.of();
+    private volatile boolean ready;
+    private volatile long entries;
+    /** Incremental updates not yet committed to disk (a build commits). */
+    private boolean uncommitted;
+
+    public TitleSuggester(
+            LuceneIndexManager indexManager,
+            LuceneIndexer indexer,
+            QueryLog queryLog,
+            MeterRegistry meterRegistry,
+            @Value("${swiftseek.suggest.path:data/suggest}") String path,
+            @Value("${swiftseek.suggest.min-query-count:2}") long minQueryCount,
+            @Value("${swiftseek.suggest.max-entries:500000}") int maxEntries,
+            @Value("${swiftseek.suggest.max-pending:10000}") int maxPending,
+            @Value("${swiftseek.suggest.cache-size:10000}") long cacheSize) throws IOException {
+
+        this.indexManager = indexManager;
+        this.queryLog = queryLog;
+        this.minQueryCount = minQueryCount;
+        this.maxEntries = maxEntries;
+
+        this.directory = FSDirectory.open(Path.of(path));
+        // highlighting re-analyzes every hit; the UI only needs the text
+        this.suggester = new AnalyzingInfixSuggester(directory, new StandardAnalyzer(), new StandardAnalyzer(),
+                AnalyzingInfixSuggester.DEFAULT_MIN_PREFIX_CHARS, true, true, false);
+        this.ready = DirectoryReader.indexExists(directory);
+        if (ready) {
+            this.entries = suggester.getCount();
+            System.out.println("💡 Loaded " + entries + " suggestions from " + path);
+        }
+
+        // titles that do not fit wait for the next full rebuild
+        this.pendingTitles = new ArrayBlockingQueue<>(Math.max(1, maxPending));
+        indexer.addTitleListener(pendingTitles::offer);
+
+        this.results = cacheSize <= 0 ? null : Caffeine.<String, List<String>>newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+
+        this.lookupTimer = Timer.builder("swiftseek.suggest.lookup")
+                .description("Typeahead lookup time")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("swiftseek.suggest.entries", this, s -> s.entries)
+                .description("Suggestions in the typeahead index")
+                .register(meterRegistry);
+    }
+
+    /* ---------------------------------------------------
+       LOOKUP
+    --------------------------------------------------- */
+
+    /**
+     * Up to {@code size} suggestions for what the user typed so far, most
+     * popular first. Empty until the first build has finished.
+     */
+    public List<String> suggest(String prefix, int size) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || !ready) {
+            return List.of();
+        }
+        int count = Math.max(1, Math.min(MAX_SUGGESTIONS, size));
+
+        Timer.Sample sample = Timer.start();
+        try {
+            return results == null
+                    ? lookup(key, count)
+                    : results.get(count + "|" + key, k -> lookup(key, count));
+        } finally {
+            sample.stop(lookupTimer);
+        }
+    }
+
+    private List<String> lookup(String prefix, int count) {
+        try {
+            List<String> suggestions = new ArrayList<>(count);
+            for (Lookup.LookupResult result : suggester.lookup(prefix, count, true, false)) {
+                suggestions.add(result.key.toString());
+            }
+            return suggestions;
+        } catch (IOException e) {
+            throw new IllegalStateException("Suggest lookup failed", e);
+        }
+    }
+
+    /* ---------------------------------------------------
+       BUILD + INCREMENTAL UPDATES
+    --------------------------------------------------- */
+
+    /**
+     * Rebuilds the suggester from every title in the index and the current
+     * query log. Runs shortly after startup and then periodically.
+     */
+    @Scheduled(
+            initialDelayString = "${swiftseek.suggest.initial-delay-ms:10000}",
+            fixedDelayString = "${swiftseek.suggest.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            synchronized (writeLock) {
+                wordCounts = wordCounts(queryLog.counts());
+
+                Map<String, Long> weighted = new HashMap<>();
+                for (String title : titles()) {
+                    weighted.putIfAbsent(title, weight(title));
+                }
+                queryLog.counts().forEach((query, count) -> {
+                    String text = normalize(query);
+                    if (count >= minQueryCount && PLAIN_QUERY.matcher(text).matches()) {
+                        weighted.merge(text, weight(text), Math::max);
+                    }
+                });
+
+                List<Map.Entry<String, Long>> top = weighted.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                        .limit(maxEntries)
+                        .toList();
+                suggester.build(new WeightedInput(top.iterator()));
+
+                entries = top.size();
+                ready = true;
+                uncommitted = false;
+                invalidateResults();
+            }
+            System.out.println("💡 Built " + entries + " suggestions in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        } catch (IOException e) {
+            System.err.println("❌ Suggester rebuild failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the titles of pages indexed since the last build or refresh.
+     */
+    @Scheduled(
+            initialDelayString = "${swiftseek.suggest.refresh-ms:5000}",
+            fixedDelayString = "${swiftseek.suggest.refresh-ms:5000}")
+    public void refresh() {
+        List<String> titles = new ArrayList<>();
+        pendingTitles.drainTo(titles);
+        if (titles.isEmpty()) return;
+
+        try {
+            synchronized (writeLock) {
+                for (String title : new HashSet<>(titles)) {
+                    // update() replaces an existing entry with the same text
+                    suggester.update(new BytesRef(title), null, weight(title), null);
+                }
+                suggester.refresh();
+                entries = suggester.getCount();
+                ready = true;
+                uncommitted = true;
+                invalidateResults();
+            }
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("❌ Suggester refresh failed: " + e.getMessage());
+        }
+    }
+
+    private void invalidateResults() {
+        if (results != null) {
+            results.invalidateAll();
+        }
+    }
+
+    private List<String> titles() throws IOException {
+        List<String> titles = new ArrayList<>();
+        IndexSearcher searcher = indexManager.acquire();
+        try {
+            for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                LeafReader reader = leaf.reader();
+                Bits liveDocs = reader.getLiveDocs();
+                StoredFields storedFields = reader.storedFields();
+                for (int doc = 0; doc < reader.maxDoc(); doc++) {
+                    if (liveDocs != null && !liveDocs.get(doc)) continue;
+                    String title = storedFields.document(doc, TITLE_FIELD).get("title");
+                    if (title != null && !title.isBlank()) {
+                        titles.add(title.strip());
+                    }
+                }
+            }
+        } finally {
+            indexManager.release(searcher);
+        }
+        return titles;
+    }
+
+    /* ---------------------------------------------------
+       WEIGHTS
+    --------------------------------------------------- */
+
+    /** How often each word appears in logged queries, weighted by query count. */
+    private static Map<String, Long> wordCounts(Map<String, Long> queryCounts) {
+        Map<String, Long> counts = new HashMap<>();
+        queryCounts.forEach((query, count) -> {
+            for (String word : words(query)) {
+                counts.merge(word, count, Long::sum);
+            }
+        });
+        return counts;
+    }
+
+    private long weight(String text) {
+        Map<String, Long> counts = wordCounts;
+        long weight = 1;
+        for (String word : words(text)) {
+            weight += counts.getOrDefault(word, 0L);
+        }
+        return weight;
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        for (String word : WORD_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    static String normalize(String text) {
+        if (text == null) return "";
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class WeightedInput implements InputIterator {
+
+        private final Iterator<Map.Entry<String, Long>> entries;
+        private long weight;
+
+        WeightedInput(Iterator<Map.Entry<String, Long>> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public BytesRef next() {
+            if (!entries.hasNext()) return null;
+            Map.Entry<String, Long> entry = entries.next();
+            weight = entry.getValue();
+            return new BytesRef(entry.getKey());
+        }
+
+        @Override
+        public long weight() {
+            return weight;
+        }
+
+        @Override
+        public BytesRef payload() {
+            return null;
+        }
+
+        @Override
+        public boolean hasPayloads() {
+            return false;
+        }
+
+        @Override
+        public Set<BytesRef> contexts() {
+            return null;
+        }
+
+        @Override
+        public boolean hasContexts() {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (uncommitted) {
+                suggester.commit();
+            }
+            suggester.close();
+            directory.close();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.swiftseek.searchengine.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.swiftseek.searchengine.crawler.CrawledPage;
+import com.swiftseek.searchengine.crawler.CrawlerProperties;
+import com.swiftseek.searchengine.crawler.WebCrawler;
+import com.swiftseek.searchengine.lucene.BulkImportRunner;
+import com.swiftseek.searchengine.lucene.IndexRequest;
+import com.swiftseek.searchengine.lucene.IndexingPipeline;
+import com.swiftseek.searchengine.lucene.LuceneIndexManager;
+import com.swiftseek.searchengine.lucene.LuceneIndexer;
+
+/**
+ * Seeds the index (sample pages + one fetch per crawler seed) on a
+ * background thread once the context has started, instead of holding up
+ * startup on external sites.
+ *
+ * Searches are served from the on-disk index right away. Only a brand-new,
+ * empty index gates readiness: this indicator is part of the readiness
+ * health group ({@code /actuator/health/readiness}) and reports
+ * OUT_OF_SERVICE until the seeding is done, so a load balancer does not
+ * send traffic to an instance that can only return empty pages. Seeding is
+ * done once the seed pages have been written by the indexing pipeline and a
+ * reader refresh has made them searchable, not when they are handed over.
+ * Progress shows up in the indicator details.
+ */
+@Component
+public class IndexBootstrap implements HealthIndicator {
+
+    public enum Phase { PENDING, SAMPLE_DATA, SEEDS, INDEXING, DONE, FAILED }
+
+    /** Longest wait for the seed pages to get through the pipeline. */
+    private static final long INDEXING_TIMEOUT_MILLIS = 60_000;
+
+    private final LuceneIndexer luceneIndexer;
+    private final LuceneIndexManager indexManager;
+    private final IndexingPipeline indexingPipeline;
+    private final WebCrawler webCrawler;
+    private final List<String> seeds;
+
+    private final AtomicInteger seedsDone = new AtomicInteger();
+    private final AtomicInteger pagesSubmitted = new AtomicInteger();
+    private volatile Phase phase = Phase.PENDING;
+    private volatile boolean gatesReadiness = true;
+
+    public IndexBootstrap(
+            LuceneIndexer luceneIndexer,
+            LuceneIndexManager indexManager,
+            IndexingPipeline indexingPipeline,
+            WebCrawler webCrawler,
+            CrawlerProperties properties) {
+        this.luceneIndexer = luceneIndexer;
+        this.indexManager = indexManager;
+        this.indexingPipeline = indexingPipeline;
+        this.webCrawler = webCrawler;
+        this.seeds = properties.seeds();
+    }
+
+    @EventListener
+    public void start(ApplicationStartedEvent event) throws IOException {
+        if (new DefaultApplicationArguments(event.getArgs()).containsOption(BulkImportRunner.IMPORT_OPTION)) {
+            // command-line import: the dump files fill the index, no crawling
+            phase = Phase.DONE;
+            return;
+        }
+
+        long docs = indexManager.stats().docs();
+        gatesReadiness = docs == 0;
+        System.out.println(">>> INDEXING INIT STARTED (background, " + docs + " docs on disk) <<<");
+
+        Thread thread = new Thread(this::run, "index-bootstrap");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        long start = System.currentTimeMillis();
+        try {
+            // Index static/sample data
+            phase = Phase.SAMPLE_DATA;
+            luceneIndexer.indexSampleData();
+
+            // Crawl + index real sites
+            phase = Phase.SEEDS;
+            for (String seed : seeds) {
+                CrawledPage page = webCrawler.crawl(seed);
+                if (page != null && indexingPipeline.submit(IndexRequest.of(page))) {
+                    pagesSubmitted.incrementAndGet();
+                }
+                System.out.println("🌱 Bootstrap seed " + seedsDone.incrementAndGet() + "/" + seeds.size()
+                        + ": " + seed);
+            }
+
+            // Wait until the seed pages are written and searchable
+            phase = Phase.INDEXING;
+            if (!indexingPipeline.awaitProcessed(INDEXING_TIMEOUT_MILLIS)) {
+                System.err.println("⚠️ Bootstrap pages still queued after " + INDEXING_TIMEOUT_MILLIS
+                        + " ms, reporting ready anyway");
+            }
+            indexManager.refresh();
+
+            phase = Phase.DONE;
+            System.out.println(">>> SEARCH ENGINE READY 🚀 (bootstrap took "
+                    + (System.currentTimeMillis() - start) + " ms) <<<");
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            phase = Phase.FAILED;
+        } catch (Exception e) {
+            phase = Phase.FAILED;
+            System.err.println("❌ Index bootstrap failed: " + e.getMessage());
+        }
+    }
+
+    public Phase phase() {
+        return phase;
+    }
+
+    /**
+     * UP once seeding is over (a failed bootstrap must not keep the instance
+     * out of rotation forever) or when the index already had documents.
+     */
+    @Override
+    public Health health() {
+        Phase current = phase;
+        boolean ready = !gatesReadiness || current == Phase.DONE || current == Phase.FAILED;
+        return (ready ? Health.up() : Health.outOfService())
+                .withDetail("phase", current)
+                .withDetail("seeds", seedsDone.get() + "/" + seeds.size())
+                .withDetail("pagesSubmitted", pagesSubmitted.get())
+                .build();
+    }
+}
@@ -1,20 +1,85 @@
 package com.swiftseek.searchengine.service;
 
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.swiftseek.searchengine.lucene.LuceneIndexManager;
+import com.swiftseek.searchengine.util.OffHeapFingerprintTable;
+import com.swiftseek.searchengine.util.UrlFingerprint;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Remembers which article URLs are already in the index, as 64-bit hashes in
+ * an {@link OffHeapFingerprintTable}. Checks are O(1) and do not allocate.
+ *
+ * The table is bounded by {@code max-entries}; when it is full the oldest
+ * half is forgotten, which at worst re-indexes an article (an idempotent
+ * update). On startup it is seeded from the {@code id} terms of the existing
+ * index, so a restart does not re-index everything NewsAPI returns again.
+ */
 @Component
 public class NewsDedupCache {
 
-    private final Set<String> indexedUrls = ConcurrentHashMap.newKeySet();
+    private final LuceneIndexManager indexManager;
+    private final OffHeapFingerprintTable indexedUrls;
+
+    public NewsDedupCache(
+            LuceneIndexManager indexManager,
+            @Value("${swiftseek.news-dedup.max-entries:5000000}") long maxEntries) {
+        this.indexManager = indexManager;
+        this.indexedUrls = new OffHeapFingerprintTable(maxEntries);
+    }
 
     public boolean isAlreadyIndexed(String url) {
-        return indexedUrls.contains(url);
+        return indexedUrls.contains(UrlFingerprint.hash(url));
     }
 
     public void markIndexed(String url) {
-        indexedUrls.add(url);
+        indexedUrls.put(UrlFingerprint.hash(url), nowMinutes());
+    }
+
+    public long size() {
+        return indexedUrls.size();
+    }
+
+    /* ---------------------------------------------------
+       STARTUP SEEDING
+    --------------------------------------------------- */
+
+    @PostConstruct
+    public void seedFromIndex() throws IOException {
+        int stamp = nowMinutes();
+        long seeded = 0;
+
+        IndexSearcher searcher = indexManager.acquire();
+        try {
+            for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                Terms terms = leaf.reader().terms("id");
+                if (terms == null) continue;
+
+                TermsEnum termsEnum = terms.iterator();
+                for (BytesRef term = termsEnum.next(); term != null; term = termsEnum.next()) {
+                    indexedUrls.put(UrlFingerprint.hash(term.utf8ToString()), stamp);
+                    seeded++;
+                }
+            }
+        } finally {
+            indexManager.release(searcher);
+        }
+
+        System.out.println("🧠 Dedup cache seeded with " + seeded + " indexed URLs");
+    }
+
+    private static int nowMinutes() {
+        return (int) TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
     }
 }
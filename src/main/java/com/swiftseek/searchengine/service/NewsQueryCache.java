@@ -1,43 +1,187 @@
 package com.swiftseek.searchengine.service;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.swiftseek.searchengine.crawler.news.NewsApiClient;
 import com.swiftseek.searchengine.crawler.news.NewsArticle;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded, stale-while-revalidate cache of NewsAPI results per query.
+ *
+ * Keys are normalized (trimmed, lower-cased, inner whitespace collapsed) so
+ * "Java", "java " and "java" share one entry. The cache holds at most
+ * {@code max-articles} articles in total and evicts with Caffeine's
+ * W-TinyLFU policy.
+ *
+ * Nothing here blocks the caller. A miss starts a fetch and returns its
+ * future; an entry older than {@code ttl-minutes} is still returned as is
+ * while a background refresh replaces it, and it is only dropped after
+ * {@code max-stale-minutes}. Concurrent requests for one key share a single
+ * fetch. Fetches run on {@code fetch-threads} threads with at most
+ * {@code max-queued-fetches} waiting; beyond that a fetch is refused rather
+ * than queued. A failed or refused refresh keeps the stale entry with its
+ * original write time, so it still expires after {@code max-stale-minutes}
+ * during an outage; a failed or refused miss stores an empty entry. Every
+ * successful fetch is handed to the fetch listeners (the indexing of new
+ * articles). Hit/miss/eviction counts are published as {@code cache.*}
+ * meters with {@code cache=newsQuery}.
+ */
 @Component
 public class NewsQueryCache {
 
-    private static final long TTL = 10 * 60 * 1000; // 10 minutes
+    private final AsyncLoadingCache<String, List<NewsArticle>> cache;
+    private final ThreadPoolExecutor fetchExecutor;
+    private final List<Consumer<List<NewsArticle>>> fetchListeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public NewsQueryCache(
+            NewsApiClient newsApiClient,
+            MeterRegistry meterRegistry,
+            @Value("${swiftseek.news-cache.max-articles:20000}") long maxArticles,
+            @Value("${swiftseek.news-cache.ttl-minutes:10}") long ttlMinutes,
+            @Value("${swiftseek.news-cache.max-stale-minutes:60}") long maxStaleMinutes,
+            @Value("${swiftseek.news.fetch-threads:4}") int fetchThreads,
+            @Value("${swiftseek.news.max-queued-fetches:100}") int maxQueuedFetches) {
+        this(newsApiClient::fetchNews, meterRegistry, maxArticles, Duration.ofMinutes(ttlMinutes),
+                Duration.ofMinutes(Math.max(ttlMinutes, maxStaleMinutes)), fetchThreads, maxQueuedFetches);
+    }
+
+    NewsQueryCache(
+            Function<String, List<NewsArticle>> fetcher,
+            MeterRegistry meterRegistry,
+            long maxArticles,
+            Duration ttl,
+            Duration maxStale,
+            int fetchThreads,
+            int maxQueuedFetches) {
+
+        this.fetchExecutor = newFetchExecutor(fetchThreads, maxQueuedFetches);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxArticles)
+                .weigher((String key, List<NewsArticle> articles) -> Math.max(1, articles.size()))
+                .refreshAfterWrite(ttl)
+                .expireAfterWrite(maxStale)
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<String, List<NewsArticle>>() {
+                    @Override
+                    public CompletableFuture<List<NewsArticle>> asyncLoad(String query, Executor executor) {
+                        return fetch(fetcher, query).exceptionally(e -> List.of());
+                    }
 
-    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+                    @Override
+                    public CompletableFuture<List<NewsArticle>> asyncReload(
+                            String query, List<NewsArticle> stale, Executor executor) {
+                        // failing the reload (instead of returning stale) keeps the
+                        // entry's write time, so expireAfterWrite still applies; as a
+                        // cancellation, which Caffeine does not log again
+                        CompletableFuture<List<NewsArticle>> refreshed = new CompletableFuture<>();
+                        fetch(fetcher, query).whenComplete((articles, e) -> {
+                            if (e == null) {
+                                refreshed.complete(articles);
+                            } else {
+                                refreshed.cancel(false);
+                            }
+                        });
+                        return refreshed;
+                    }
+                });
 
-    public List<NewsArticle> get(String query) {
-        CacheEntry entry = cache.get(query);
-        if (entry == null)
-            return null;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "newsQuery");
+    }
 
-        if (System.currentTimeMillis() - entry.timestamp > TTL) {
-            cache.remove(query);
-            return null;
+    private static ThreadPoolExecutor newFetchExecutor(int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "news-fetch-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Completes exceptionally when the fetch fails or is refused. A miss
+     * then stores an empty entry and a refresh keeps the stale one; either
+     * is tried again on the first read after the TTL, which is cheap while
+     * the NewsAPI circuit is open.
+     */
+    private CompletableFuture<List<NewsArticle>> fetch(
+            Function<String, List<NewsArticle>> fetcher, String query) {
+        try {
+            return CompletableFuture.supplyAsync(() -> fetcher.apply(query), fetchExecutor)
+                    .whenComplete((articles, e) -> {
+                        if (e != null) {
+                            System.err.println("⚠️ News fetch for '" + query + "' failed: " + e.getMessage());
+                            return;
+                        }
+                        for (Consumer<List<NewsArticle>> listener : fetchListeners) {
+                            try {
+                                listener.accept(articles);
+                            } catch (RuntimeException listenerError) {
+                                System.err.println("❌ News fetch listener failed: " + listenerError.getMessage());
+                            }
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            // too many fetches waiting: shed this one like a failed fetch
+            return CompletableFuture.failedFuture(e);
         }
-        return entry.articles;
     }
 
-    public void put(String query, List<NewsArticle> articles) {
-        cache.put(query, new CacheEntry(articles));
+    /**
+     * Returns the articles for {@code query} without waiting: a completed
+     * future for a cached (possibly stale) entry, or the pending fetch.
+     */
+    public CompletableFuture<List<NewsArticle>> get(String query) {
+        return cache.get(normalize(query));
     }
 
-    private static class CacheEntry {
-        private final List<NewsArticle> articles;
-        private final long timestamp;
+    /**
+     * Registers a callback for the articles of every successful fetch, run
+     * on the fetch thread.
+     */
+    public void addFetchListener(Consumer<List<NewsArticle>> listener) {
+        fetchListeners.add(listener);
+    }
 
-        CacheEntry(List<NewsArticle> articles) {
-            this.articles = articles;
-            this.timestamp = System.currentTimeMillis();
-        }
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public static String normalize(String query) {
+        if (query == null) return "";
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    public void close() {
+        fetchExecutor.shutdownNow();
     }
 }
@@ -0,0 +1,145 @@
+package com.swiftseek.searchengine.service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.swiftseek.searchengine.lucene.InvalidQueryException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Admission control in front of Lucene: what a search may ask for, and how
+ * many run at once.
+ *
+ * {@link #check} bounds the page: {@code size} up to {@code max-size}
+ * ({@code max-stream-size} for NDJSON) and offset paging up to
+ * {@code max-offset} results deep; deeper pages have to follow the
+ * {@code nextCursor}. Violations are 400s.
+ *
+ * {@link #run} lets {@code max-concurrent} searches run. Further searches
+ * wait in arrival order, at most {@code max-queued} of them and for at most
+ * {@code queue-timeout-ms}; anything beyond that fails fast with
+ * {@link SearchOverloadedException} (503). So a spike is absorbed by a
+ * short queue, and past that the excess is shed while the admitted
+ * searches keep their normal latency.
+ *
+ * Meters: {@code swiftseek.search.active}, {@code swiftseek.search.queued}
+ * and {@code swiftseek.search.rejected{reason=queue-full|queue-timeout}}.
+ */
+@Component
+public class SearchAdmission {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final int maxSize;
+    private final int maxStreamSize;
+    private final int maxOffset;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long queueTimeoutMillis;
+
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter queueFull;
+    private final Counter queueTimeout;
+
+    public SearchAdmission(
+            MeterRegistry meterRegistry,
+            @Value("${swiftseek.search.max-size:100}") int maxSize,
+            @Value("${swiftseek.search.max-stream-size:1000}") int maxStreamSize,
+            @Value("${swiftseek.search.max-offset:1000}") int maxOffset,
+            @Value("${swiftseek.search.max-concurrent:8}") int maxConcurrent,
+            @Value("${swiftseek.search.max-queued:64}") int maxQueued,
+            @Value("${swiftseek.search.queue-timeout-ms:1000}") long queueTimeoutMillis) {
+
+        this.maxSize = maxSize;
+        this.maxStreamSize = maxStreamSize;
+        this.maxOffset = maxOffset;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        // fair, so queued searches are not overtaken by new arrivals
+        this.permits = new Semaphore(this.maxConcurrent, true);
+
+        Gauge.builder("swiftseek.search.active", permits, p -> this.maxConcurrent - p.availablePermits())
+                .description("Searches running in Lucene")
+                .register(meterRegistry);
+        Gauge.builder("swiftseek.search.queued", queued, AtomicInteger::get)
+                .description("Searches waiting for a slot")
+                .register(meterRegistry);
+        this.queueFull = rejected(meterRegistry, "queue-full");
+        this.queueTimeout = rejected(meterRegistry, "queue-timeout");
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("swiftseek.search.rejected")
+                .description("Searches shed by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /* ---------------------------------------------------
+       REQUEST LIMITS
+    --------------------------------------------------- */
+
+    /** Rejects pages that are too large or too deep with a 400. */
+    public void check(int page, int size, String cursor, boolean streamed) {
+        int limit = streamed ? maxStreamSize : maxSize;
+        if (size < 1 || size > limit) {
+            throw new InvalidQueryException("size must be between 1 and " + limit);
+        }
+        if (page < 0) {
+            throw new InvalidQueryException("page must not be negative");
+        }
+        boolean offsetPaging = cursor == null || cursor.isEmpty();
+        if (offsetPaging && (long) page * size + size > maxOffset) {
+            throw new InvalidQueryException("Offset paging stops after " + maxOffset
+                    + " results; follow nextCursor for deeper pages");
+        }
+    }
+
+    /* ---------------------------------------------------
+       CONCURRENCY LIMIT
+    --------------------------------------------------- */
+
+    /** Runs {@code search} in a slot, waiting briefly for one if necessary. */
+    public <T> T run(Search<T> search) throws Exception {
+        acquire();
+        try {
+            return search.run();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() throws InterruptedException {
+        // the timed form keeps fairness: it never barges past queued searches
+        if (permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            queueFull.increment();
+            throw new SearchOverloadedException("Search is overloaded, try again shortly", RETRY_AFTER_SECONDS);
+        }
+        try {
+            if (!permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                queueTimeout.increment();
+                throw new SearchOverloadedException("Search is overloaded, try again shortly", RETRY_AFTER_SECONDS);
+            }
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Search<T> {
+        T run() throws Exception;
+    }
+}
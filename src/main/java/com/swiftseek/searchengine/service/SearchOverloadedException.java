@@ -0,0 +1,24 @@
+package com.swiftseek.searchengine.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Every search slot is busy and the wait queue is full, or the wait ran
+ * out. Reported as 503 with a {@code Retry-After} so clients and load
+ * balancers back off instead of adding to the backlog.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SearchOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public SearchOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
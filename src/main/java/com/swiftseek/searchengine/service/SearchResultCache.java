@@ -0,0 +1,106 @@
+package com.swiftseek.searchengine.service;
+
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.swiftseek.searchengine.lucene.LuceneIndexManager;
+import com.swiftseek.searchengine.lucene.SearchPage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of finished result pages, keyed on the normalized query, domain,
+ * day window, page, size, cursor and facets flag.
+ *
+ * Every entry is tagged with the searcher generation it was computed
+ * against. As soon as a refresh opens a new searcher the whole cache is
+ * dropped, and an entry that raced with the refresh is rejected on read
+ * because its generation no longer matches. Hits never touch Lucene.
+ * Partial pages (cut off by the time budget) are not cached, so the next
+ * request for them gets another full attempt.
+ * Statistics are published as {@code cache.*} meters with
+ * {@code cache=searchResults}.
+ */
+@Component
+public class SearchResultCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final LuceneIndexManager indexManager;
+    private final Cache<Key, Entry> cache;
+
+    public SearchResultCache(
+            LuceneIndexManager indexManager,
+            MeterRegistry meterRegistry,
+            @Value("${swiftseek.search-cache.max-entries:10000}") long maxEntries) {
+
+        this.indexManager = indexManager;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+
+        indexManager.addRefreshListener(didRefresh -> {
+            if (didRefresh) {
+                cache.invalidateAll();
+            }
+        });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "searchResults");
+        meterRegistry.gauge("swiftseek.search.cache.hit.ratio", cache, c -> c.stats().hitRate());
+    }
+
+    /**
+     * Returns the cached page for these parameters, or runs {@code search}
+     * and caches its complete result for the current searcher generation.
+     */
+    public SearchPage get(
+            String query,
+            String domain,
+            Integer days,
+            int page,
+            int size,
+            String cursor,
+            boolean facets,
+            SearchCall search) throws Exception {
+
+        Key key = new Key(
+                // whitespace only: case matters for AND/OR/NOT in query syntax
+                WHITESPACE.matcher(query.trim()).replaceAll(" "),
+                domain == null ? "" : domain,
+                days == null || days <= 0 ? 0 : days,
+                page,
+                size,
+                cursor == null ? "" : cursor,
+                facets);
+
+        long generation = indexManager.searcherGeneration();
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.generation == generation) {
+            return entry.response;
+        }
+
+        SearchPage response = search.run();
+        if (!response.partial()) {
+            cache.put(key, new Entry(generation, response));
+        }
+        return response;
+    }
+
+    @FunctionalInterface
+    public interface SearchCall {
+        SearchPage run() throws Exception;
+    }
+
+    private record Key(String query, String domain, int days, int page, int size, String cursor, boolean facets) {
+    }
+
+    private record Entry(long generation, SearchPage response) {
+    }
+}
@@ -1,18 +1,22 @@
 package com.swiftseek.searchengine.service;
-import com.swiftseek.searchengine.crawler.CrawledPage;
-import com.swiftseek.searchengine.crawler.WebCrawler;
-import com.swiftseek.searchengine.crawler.news.NewsApiClient;
 import com.swiftseek.searchengine.crawler.news.NewsArticle;
-import com.swiftseek.searchengine.lucene.LuceneIndexer;
+import com.swiftseek.searchengine.lucene.IndexRequest;
+import com.swiftseek.searchengine.lucene.IndexingPipeline;
 import com.swiftseek.searchengine.lucene.LuceneSearcher;
+import com.swiftseek.searchengine.lucene.QueryLog;
+import com.swiftseek.searchengine.lucene.SearchHitSink;
+import com.swiftseek.searchengine.lucene.SearchPage;
 import com.swiftseek.searchengine.service.NewsDedupCache;
+import com.swiftseek.searchengine.util.StageTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class SearchService {
@@ -22,90 +26,137 @@ public class SearchService {
     @Autowired
     private NewsQueryCache newsQueryCache;
 
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private IndexingPipeline indexingPipeline;
+
+    @Autowired
+    private LuceneSearcher luceneSearcher;
 
-    // 🔹 Inject News API client
     @Autowired
-    private NewsApiClient newsApiClient;
+    private QueryLog queryLog;
+
+    @Autowired
+    private SearchAdmission searchAdmission;
+
+    // 🔹 Per-stage latency (lucene-query / assembly are timed in LuceneSearcher)
+    private final Timer totalTimer;
+    private final Timer newsCacheTimer;
+
+    public SearchService(MeterRegistry meterRegistry) {
+        this.totalTimer = StageTimer.register(meterRegistry, "total");
+        this.newsCacheTimer = StageTimer.register(meterRegistry, "news-cache");
+    }
+
+    @PostConstruct
+    public void init() {
+        newsQueryCache.addFetchListener(this::indexNews);
+        indexingPipeline.addIndexedListener(this::markIndexed);
+    }
 
     /**
-     * Main search method used by SearchController
+     * Main search method used by SearchController. Cached pages are served
+     * without a search slot, so popular queries keep answering under
+     * overload; only misses queue up in {@link SearchAdmission}.
      */
-    public Map<String, Object> search(
+    public SearchPage search(
         String query,
         String domain,
         Integer days,
         int page,
-        int size) throws Exception {
+        int size,
+        String cursor,
+        boolean facets) throws Exception {
+
+    searchAdmission.check(page, size, cursor, false);
 
-    // 1️⃣ Query-level cache
-    List<NewsArticle> news = newsQueryCache.get(query);
+    long start = System.nanoTime();
+    try {
+        ingestNews(query);
 
-    if (news == null) {
-        news = newsApiClient.fetchNews(query);
-        newsQueryCache.put(query, news);
+        // 3️⃣ Search Lucene (or serve the page cached for the current searcher)
+        SearchPage result = searchResultCache.get(query, domain, days, page, size, cursor, facets,
+                () -> searchAdmission.run(
+                        () -> luceneSearcher.search(query, domain, days, page, size, cursor, facets)));
+
+        logQuery(query, page, cursor);
+        return result;
+    } finally {
+        totalTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
+}
 
-    // 2️⃣ Index safely (dedup + isolation)
-    for (NewsArticle article : news) {
-        try {
-            if (newsDedupCache.isAlreadyIndexed(article.url())) continue;
+    /**
+     * Streaming variant for large pages: hits go straight from the searcher
+     * to {@code sink}, bypassing the result-page cache. The search slot is
+     * held while the hits are written out.
+     */
+    public void search(
+        String query,
+        String domain,
+        Integer days,
+        int page,
+        int size,
+        String cursor,
+        boolean facets,
+        SearchHitSink sink) throws Exception {
 
-            LuceneIndexer.indexPage(
-                    article.title(),
-                    article.url(),
-                    article.content(),
-                    article.source(),
-                    article.publishedTime()
-            );
+    searchAdmission.check(page, size, cursor, true);
 
-            newsDedupCache.markIndexed(article.url());
+    long start = System.nanoTime();
+    try {
+        ingestNews(query);
 
-        } catch (Exception e) {
-            System.err.println("❌ Failed to index article: " + article.url());
-        }
+        searchAdmission.run(() -> {
+            luceneSearcher.search(query, domain, days, page, size, cursor, facets, sink);
+            return null;
+        });
+
+        logQuery(query, page, cursor);
+    } finally {
+        totalTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
+}
 
-    // 3️⃣ Search Lucene
-    return LuceneSearcher.search(query, domain, days, page, size);
+/**
+ * First pages only, so paging through one query does not count it again.
+ */
+private void logQuery(String query, int page, String cursor) {
+    if (page == 0 && cursor == null) {
+        queryLog.record(query);
+    }
 }
 
+    private void ingestNews(String query) {
+
+    // 1️⃣ Query-level cache, never waited on: a miss or a stale entry starts a
+    //    background NewsAPI fetch and this search answers from the index as is
+    newsCacheTimer.record(() -> newsQueryCache.get(query));
+}
 
     /**
-     * Initial indexing + crawling when application starts
+     * 2️⃣ Fetch listener: hands new articles to the background indexer
+     * (dedup + isolation); they show up in searches after the next refresh.
      */
-    @PostConstruct
-    public void init() {
-        try {
-            System.out.println(">>> INDEXING INIT STARTED <<<");
-
-            // Index static/sample data
-            LuceneIndexer.indexSampleData();
-
-            // Crawl + index real sites
-            indexFromWeb("https://spring.io");
-            indexFromWeb("https://www.oracle.com/java/");
-
-            System.out.println(">>> SEARCH ENGINE READY 🚀 <<<");
+    private void indexNews(List<NewsArticle> news) {
+        for (NewsArticle article : news) {
+            if (newsDedupCache.isAlreadyIndexed(article.url())) continue;
 
-        } catch (Exception e) {
-            e.printStackTrace();
+            indexingPipeline.offer(IndexRequest.of(article));
         }
     }
 
     /**
-     * Helper method: crawl → index
+     * Indexed listener: URLs count as indexed once their batch is written,
+     * so an article in a failed batch is offered again on the next fetch.
+     * Until then a repeated fetch may queue it twice, which is only an
+     * idempotent update.
      */
-    private void indexFromWeb(String url) throws Exception {
-        CrawledPage page = WebCrawler.crawl(url);
-
-        if (page == null) return;
-
-        LuceneIndexer.indexPage(
-                page.title(),
-                page.url(),
-                page.content(),
-                page.domain(),
-                page.crawlTime()
-        );
+    private void markIndexed(List<IndexRequest> batch) {
+        for (IndexRequest request : batch) {
+            newsDedupCache.markIndexed(request.url());
+        }
     }
 }
@@ -0,0 +1,75 @@
+package com.swiftseek.searchengine.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal circuit breaker around calls to one remote dependency.
+ *
+ * CLOSED lets every call through and counts consecutive failures; at
+ * {@code failureThreshold} it opens. OPEN rejects calls for
+ * {@code openMillis}, then lets exactly one trial call through
+ * (HALF_OPEN): its success closes the breaker, its failure opens it again.
+ *
+ * Callers ask {@link #tryAcquire()} before the call and report the outcome
+ * with {@link #onSuccess()} or {@link #onFailure()}.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+
+    /**
+     * Returns {@code true} if the call may proceed. Every {@code true} must
+     * be followed by {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            failures = 0;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,364 @@
+package com.swiftseek.searchengine.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Concurrent open-addressing table from 64-bit fingerprints to a 32-bit stamp,
+ * stored outside the Java heap.
+ *
+ * Each entry takes 12 bytes of direct memory (key + stamp) and no objects, so
+ * lookups and inserts do not allocate. The table is split into independently
+ * locked segments chosen by the top bits of the key; each segment uses
+ * linear probing and grows by doubling up to its share of
+ * {@code maxEntries}. A segment that is full at that size evicts the older
+ * half of its entries (by stamp, ties broken by slot) instead of growing,
+ * which keeps memory flat.
+ *
+ * Stamps are caller-defined (for example epoch minutes); a larger stamp means
+ * "more recent".
+ */
+public final class OffHeapFingerprintTable {
+
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+    private static final int ENTRY_BYTES = 12;
+    private static final int MIN_SEGMENT_CAPACITY = 1 << 10;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private static final int SNAPSHOT_MAGIC = 0x5357464b; // "SWFK"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public OffHeapFingerprintTable(long maxEntries) {
+        long perSegment = (long) (maxEntries / SEGMENTS / LOAD_FACTOR);
+        long target = Math.min(Math.max(MIN_SEGMENT_CAPACITY, perSegment), 1 << 27);
+        int maxCapacity = Integer.highestOneBit((int) target);
+        if (maxCapacity < target) {
+            maxCapacity <<= 1;
+        }
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(Math.min(MIN_SEGMENT_CAPACITY, maxCapacity), maxCapacity);
+        }
+    }
+
+    /* ---------------------------------------------------
+       OPERATIONS
+    --------------------------------------------------- */
+
+    /**
+     * Stamp stored for {@code key}, or {@link #MISSING}.
+     */
+    public int get(long key) {
+        key = mapKey(key);
+        return segmentFor(key).get(key);
+    }
+
+    public boolean contains(long key) {
+        return get(key) != MISSING;
+    }
+
+    public void put(long key, int stamp) {
+        key = mapKey(key);
+        segmentFor(key).put(key, stamp, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Inserts {@code key} if it is absent, or refreshes it if its stored stamp
+     * is older than {@code cutoff}. Returns {@code true} in both cases, and
+     * {@code false} (leaving the entry untouched) if a recent entry exists.
+     */
+    public boolean putIfAbsentOrOlder(long key, int stamp, int cutoff) {
+        key = mapKey(key);
+        return segmentFor(key).put(key, stamp, cutoff);
+    }
+
+    public boolean remove(long key) {
+        key = mapKey(key);
+        return segmentFor(key).remove(key);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Direct memory currently reserved by the table.
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                bytes += (long) segment.capacity * ENTRY_BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Drops every entry whose stamp is older than {@code cutoff}.
+     */
+    public void removeOlderThan(int cutoff) {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.rebuild(segment.capacity, cutoff);
+            }
+        }
+    }
+
+    /* ---------------------------------------------------
+       SNAPSHOTS
+    --------------------------------------------------- */
+
+    /**
+     * Writes all entries to {@code file} (via a temp file and an atomic move).
+     * Segments are copied one at a time, so writers are only blocked briefly.
+     */
+    public void writeSnapshot(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    segment.writeTo(out);
+                }
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads entries from a snapshot written by {@link #writeSnapshot(Path)}.
+     * Returns the number of entries read, or {@code 0} if there is no file.
+     */
+    public long readSnapshot(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        long count = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a fingerprint snapshot: " + file);
+            }
+            while (true) {
+                long key;
+                try {
+                    key = in.readLong();
+                } catch (EOFException end) {
+                    break;
+                }
+                int stamp = in.readInt();
+                segmentFor(key).put(key, stamp, Integer.MAX_VALUE);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /* ---------------------------------------------------
+       INTERNALS
+    --------------------------------------------------- */
+
+    /** 0 marks an empty slot, so it is never stored as a key. */
+    private static long mapKey(long key) {
+        return key == 0 ? 1 : key;
+    }
+
+    private Segment segmentFor(long key) {
+        return segments[(int) (key >>> (64 - SEGMENT_BITS))];
+    }
+
+    private static final class Segment {
+
+        private final int maxCapacity;
+        private ByteBuffer slots;
+        private int capacity;
+        private int mask;
+        private int size;
+
+        Segment(int capacity, int maxCapacity) {
+            this.maxCapacity = maxCapacity;
+            allocate(capacity);
+        }
+
+        private void allocate(int newCapacity) {
+            capacity = newCapacity;
+            mask = newCapacity - 1;
+            slots = ByteBuffer.allocateDirect(newCapacity * ENTRY_BYTES);
+            size = 0;
+        }
+
+        private long keyAt(int slot) {
+            return slots.getLong(slot * ENTRY_BYTES);
+        }
+
+        private int stampAt(int slot) {
+            return slots.getInt(slot * ENTRY_BYTES + 8);
+        }
+
+        private void set(int slot, long key, int stamp) {
+            slots.putLong(slot * ENTRY_BYTES, key);
+            slots.putInt(slot * ENTRY_BYTES + 8, stamp);
+        }
+
+        private int find(long key) {
+            int slot = (int) key & mask;
+            while (true) {
+                long k = keyAt(slot);
+                if (k == key) return slot;
+                if (k == 0) return -1;
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        synchronized int get(long key) {
+            int slot = find(key);
+            return slot < 0 ? MISSING : stampAt(slot);
+        }
+
+        synchronized boolean put(long key, int stamp, int cutoff) {
+            int slot = find(key);
+            if (slot >= 0) {
+                if (stampAt(slot) >= cutoff) {
+                    return false;
+                }
+                set(slot, key, stamp);
+                return true;
+            }
+
+            if (size + 1 > capacity * LOAD_FACTOR) {
+                if (capacity < maxCapacity) {
+                    rebuild(capacity << 1, Integer.MIN_VALUE);
+                } else {
+                    evictOlderHalf();
+                }
+            }
+            insertFresh(key, stamp);
+            return true;
+        }
+
+        synchronized boolean remove(long key) {
+            int slot = find(key);
+            if (slot < 0) {
+                return false;
+            }
+            // backward-shift deletion keeps probe chains intact without tombstones
+            int hole = slot;
+            int next = hole;
+            while (true) {
+                next = (next + 1) & mask;
+                long k = keyAt(next);
+                if (k == 0) break;
+                int ideal = (int) k & mask;
+                boolean movable = hole <= next
+                        ? (ideal <= hole || ideal > next)
+                        : (ideal <= hole && ideal > next);
+                if (movable) {
+                    set(hole, k, stampAt(next));
+                    hole = next;
+                }
+            }
+            set(hole, 0, 0);
+            size--;
+            return true;
+        }
+
+        private void insertFresh(long key, int stamp) {
+            int slot = (int) key & mask;
+            while (keyAt(slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            set(slot, key, stamp);
+            size++;
+        }
+
+        /**
+         * Re-inserts every entry with {@code stamp >= cutoff} into a fresh
+         * buffer of {@code newCapacity} slots.
+         */
+        void rebuild(int newCapacity, int cutoff) {
+            rebuild(newCapacity, cutoff, 0);
+        }
+
+        /**
+         * Same, but also drops the first {@code tiesToDrop} entries (in slot
+         * order) whose stamp equals {@code cutoff}.
+         */
+        private void rebuild(int newCapacity, int cutoff, int tiesToDrop) {
+            ByteBuffer old = slots;
+            int oldCapacity = capacity;
+            allocate(newCapacity);
+            for (int i = 0; i < oldCapacity; i++) {
+                long k = old.getLong(i * ENTRY_BYTES);
+                int stamp = old.getInt(i * ENTRY_BYTES + 8);
+                if (k == 0 || stamp < cutoff) continue;
+                if (stamp == cutoff && tiesToDrop > 0) {
+                    tiesToDrop--;
+                    continue;
+                }
+                insertFresh(k, stamp);
+            }
+        }
+
+        /**
+         * Drops {@code size / 2} entries, oldest stamps first. Counting rather
+         * than splitting the stamp range matters because stamps are coarse:
+         * a crawl burst gives most of a segment the same minute.
+         */
+        private void evictOlderHalf() {
+            int[] stamps = new int[size];
+            int n = 0;
+            for (int i = 0; i < capacity; i++) {
+                if (keyAt(i) != 0) {
+                    stamps[n++] = stampAt(i);
+                }
+            }
+            Arrays.sort(stamps);
+
+            int toDrop = size / 2;
+            int cutoff = stamps[toDrop];
+            // entries below the median stamp all go; the rest comes from its ties
+            int below = 0;
+            while (below < toDrop && stamps[below] < cutoff) {
+                below++;
+            }
+            rebuild(capacity, cutoff, toDrop - below);
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            for (int i = 0; i < capacity; i++) {
+                long k = keyAt(i);
+                if (k != 0) {
+                    out.writeLong(k);
+                    out.writeInt(stampAt(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.swiftseek.searchengine.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers for the stages of a search request, all under one metric name so
+ * a dashboard can stack them: {@code swiftseek.search.stage{stage=...}}.
+ *
+ * Each timer publishes a percentile histogram (for Prometheus-side p99
+ * across instances) plus local p50/p95/p99, which show up directly under
+ * {@code /actuator/metrics/swiftseek.search.stage}.
+ */
+public final class StageTimer {
+
+    public static final String METRIC = "swiftseek.search.stage";
+
+    private StageTimer() {
+    }
+
+    public static Timer register(MeterRegistry registry, String stage) {
+        return Timer.builder(METRIC)
+                .description("Time spent in one stage of a search request")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+}
@@ -0,0 +1,81 @@
+package com.swiftseek.searchengine.util;
+
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * 64-bit fingerprints of normalized URLs.
+ *
+ * Two URLs that differ only in scheme/host case, a default port, a
+ * {@code #fragment} or an empty path map to the same fingerprint. The hash is
+ * FNV-1a followed by the SplitMix64 finalizer, which spreads the bits well
+ * enough for open addressing and keeps accidental collisions negligible at
+ * tens of millions of URLs.
+ */
+public final class UrlFingerprint {
+
+    private UrlFingerprint() {
+    }
+
+    public static long of(String url) {
+        return hash(normalize(url));
+    }
+
+    public static String normalize(String url) {
+        if (url == null) return "";
+
+        int hash = url.indexOf('#');
+        if (hash >= 0) url = url.substring(0, hash);
+
+        try {
+            URI uri = URI.create(url.trim());
+            String scheme = uri.getScheme();
+            String host = uri.getHost();
+            if (scheme == null || host == null) {
+                return url;
+            }
+            scheme = scheme.toLowerCase(Locale.ROOT);
+
+            StringBuilder sb = new StringBuilder(url.length())
+                    .append(scheme).append("://")
+                    .append(host.toLowerCase(Locale.ROOT));
+
+            int port = uri.getPort();
+            boolean defaultPort = port == -1
+                    || (port == 80 && scheme.equals("http"))
+                    || (port == 443 && scheme.equals("https"));
+            if (!defaultPort) sb.append(':').append(port);
+
+            String path = uri.getRawPath();
+            sb.append(path == null || path.isEmpty() ? "/" : path);
+
+            if (uri.getRawQuery() != null && !uri.getRawQuery().isEmpty()) {
+                sb.append('?').append(uri.getRawQuery());
+            }
+            return sb.toString();
+
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    /**
+     * Hashes the characters as-is, without normalizing and without allocating.
+     */
+    public static long hash(CharSequence s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            h ^= (c & 0xff);
+            h *= 0x100000001b3L;
+            h ^= (c >>> 8);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
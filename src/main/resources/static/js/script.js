@@ -1,5 +1,6 @@
 let currentPage = 0;
 const pageSize = 5;
+const maxOffset = 1000; // swiftseek.search.max-offset
 let selectedIndex = -1;
 let debounceTimer = null;
 
@@ -42,7 +43,10 @@ function executeSearch(page) {
     if (domain) url += `&domain=${encodeURIComponent(domain)}`;
 
     fetch(url)
-        .then(res => res.json())
+        .then(res => {
+            if (!res.ok) throw res;
+            return res.json();
+        })
         .then(data => {
             loader.classList.add("hidden");
             resetButton(searchBtn);
@@ -50,10 +54,12 @@ function executeSearch(page) {
             saveRecentSearch(query);
             renderResults(data, query);
         })
-        .catch(() => {
+        .catch(err => {
             loader.classList.add("hidden");
             resetButton(searchBtn);
-            resultsDiv.innerHTML = "<p>Something went wrong. Try again.</p>";
+            resultsDiv.innerHTML = err.status === 503
+                ? "<p>Search is busy right now. Try again in a moment.</p>"
+                : "<p>Something went wrong. Try again.</p>";
         });
 }
 
@@ -101,7 +107,7 @@ function renderResults(data, query) {
                 🌐 ${item.domain} · ⏱ ${timeAgo}
             </div>
 
-            <p>${highlight(item.snippet, query)}</p>
+            <p>${item.snippet || ""}</p>
         `;
 
         resultsDiv.appendChild(div);
@@ -116,7 +122,8 @@ function renderResults(data, query) {
 
 function renderPagination(totalResults) {
     const resultsDiv = document.getElementById("results");
-    const totalPages = Math.ceil(totalResults / pageSize);
+    // offset paging stops at maxOffset results
+    const totalPages = Math.min(Math.ceil(totalResults / pageSize), Math.floor(maxOffset / pageSize));
     if (totalPages <= 1) return;
 
     const nav = document.createElement("div");
@@ -247,6 +254,47 @@ function showSkeleton(container) {
     }
 }
 
+/* =====================================================
+   TYPEAHEAD
+===================================================== */
+
+let suggestTimer = null;
+let suggestRequest = null;
+
+function suggest() {
+    clearTimeout(suggestTimer);
+
+    suggestTimer = setTimeout(async () => {
+        const q = document.getElementById("query").value.trim();
+        const list = document.getElementById("suggestions");
+        if (!list) return;
+
+        // only the latest keystroke matters
+        suggestRequest?.abort();
+        suggestRequest = new AbortController();
+
+        if (q.length < 2) {
+            list.replaceChildren();
+            return;
+        }
+
+        try {
+            const res = await fetch(`/suggest?q=${encodeURIComponent(q)}&size=8`,
+                { signal: suggestRequest.signal });
+            if (!res.ok) return;
+
+            const options = (await res.json()).map(text => {
+                const option = document.createElement("option");
+                option.value = text;
+                return option;
+            });
+            list.replaceChildren(...options);
+        } catch (err) {
+            // aborted by a newer keystroke, or the server is busy: no suggestions
+        }
+    }, 80);
+}
+
 /* =====================================================
    INIT
 ===================================================== */
@@ -256,6 +304,8 @@ document.addEventListener("DOMContentLoaded", () => {
     input?.focus();
     renderRecentSearches();
 
+    input?.addEventListener("input", suggest);
+
     input?.addEventListener("keydown", e => {
         if (e.key === "Enter") {
             e.preventDefault();
@@ -0,0 +1,230 @@
+package com.swiftseek.searchengine.crawler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CrawlEngineTest {
+
+    private HttpServer server;
+    private String base;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    private final Map<String, String> pages = new ConcurrentHashMap<>(Map.of(
+            "/", page("Home", "/a", "/b", "/c", "http://elsewhere.invalid/x"),
+            "/a", page("A", "/d", "/"),
+            "/b", page("B", "/a#section"),
+            "/c", page("C"),
+            "/d", page("D", "/e"),
+            "/e", page("E")));
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(java.util.concurrent.Executors.newFixedThreadPool(8));
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void followsLinksWithinDepthAndDomainLimits() throws Exception {
+        Set<String> crawled = ConcurrentHashMap.newKeySet();
+        CrawlerProperties properties = properties(2, 4, 0);
+        CrawlEngine engine = engine(properties, page -> crawled.add(page.url()));
+
+        int fetched = engine.crawl(List.of(base + "/"));
+
+        Set<String> paths = crawled.stream()
+                .map(url -> url.substring(base.length()))
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("/", "/a", "/b", "/c", "/d"), paths);
+        assertEquals(5, fetched);
+    }
+
+    @Test
+    void respectsPerHostConcurrencyAndCrawlDelay() throws Exception {
+        CrawlEngine engine = engine(properties(5, 1, 50), page -> { });
+
+        long start = System.currentTimeMillis();
+        int fetched = engine.crawl(List.of(base + "/"));
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertEquals(6, fetched);
+        assertEquals(1, maxActive.get());
+        // six requests spaced at least 50ms apart
+        assertTrue(elapsed >= 5 * 50, "crawl finished too fast: " + elapsed + "ms");
+    }
+
+    @Test
+    void recrawlUsesValidatorsAndEmitsOnlyChangedPages() throws Exception {
+        // revisit intervals of 0: every known page is due on the next run
+        CrawlerProperties properties = properties(5, 4, 0, 0);
+        CrawlStateStore states = new CrawlStateStore(properties, TimeUnit.DAYS.toMillis(45));
+        List<String> emitted = new CopyOnWriteArrayList<>();
+        Consumer<CrawledPage> sink = page -> emitted.add(page.url().substring(base.length()));
+
+        engine(properties, states, sink).crawl(List.of(base + "/"));
+        assertEquals(Set.of("/", "/a", "/b", "/c", "/d", "/e"), Set.copyOf(emitted));
+
+        pages.put("/e", page("E changed"));
+        emitted.clear();
+        notModified.set(0);
+
+        // a fresh seen-set, as after the revisit interval has passed
+        engine(properties, states, sink).crawl(List.of(base + "/"));
+
+        assertEquals(List.of("/e"), emitted);
+        assertTrue(notModified.get() >= 5, "expected 304s for unchanged pages, got " + notModified.get());
+    }
+
+    @Test
+    void urlsLeftInTheFrontierWhenTheBudgetRunsOutAreCrawledNextRun() throws Exception {
+        CrawlerProperties firstRun = properties(2, 1, 0, 1, 2);
+        FingerprintSeenSet seen = new FingerprintSeenSet(firstRun);
+        Set<String> crawled = ConcurrentHashMap.newKeySet();
+
+        assertEquals(2, engine(firstRun, seen, crawled).crawl(List.of(base + "/")));
+        assertEquals(Set.of("/", "/a"), crawled);
+
+        // /b, /c and /d were found but never fetched, so they are not "seen"
+        crawled.clear();
+        CrawlEngine secondRun = engine(properties(0, 1, 0, 1, 100), seen, crawled);
+        assertEquals(3, secondRun.crawl(List.of(base + "/b", base + "/c", base + "/d")));
+        assertEquals(Set.of("/b", "/c", "/d"), crawled);
+    }
+
+    @Test
+    void unchangedPagesAreReindexedBeforeRetentionDropsThem() throws Exception {
+        CrawlerProperties properties = properties(5, 4, 0, 0);
+        // every indexed copy is immediately old enough to be refreshed
+        CrawlStateStore states = new CrawlStateStore(properties, 0);
+        List<CrawledPage> emitted = new CopyOnWriteArrayList<>();
+
+        engine(properties, states, emitted::add).crawl(List.of(base + "/"));
+        long firstCrawl = emitted.stream().mapToLong(CrawledPage::crawlTime).max().orElseThrow();
+        emitted.clear();
+        notModified.set(0);
+        Thread.sleep(5);
+
+        engine(properties, states, emitted::add).crawl(List.of(base + "/"));
+
+        // fetched without validators and sent again with a fresh crawl time
+        assertEquals(0, notModified.get());
+        assertEquals(6, emitted.size());
+        assertTrue(emitted.stream().allMatch(page -> page.crawlTime() > firstCrawl));
+    }
+
+    /* ---------------------------------------------------
+       STUB SERVER
+    --------------------------------------------------- */
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int now = active.incrementAndGet();
+        maxActive.accumulateAndGet(now, Math::max);
+        try {
+            String body = pages.get(exchange.getRequestURI().getPath());
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            Thread.sleep(20);
+            String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            active.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static String page(String title, String... links) {
+        StringBuilder html = new StringBuilder("<html><head><title>")
+                .append(title).append("</title></head><body><p>")
+                .append(title).append(" content</p>");
+        for (String link : links) {
+            html.append("<a href=\"").append(link).append("\">link</a>");
+        }
+        return html.append("</body></html>").toString();
+    }
+
+    private static CrawlEngine engine(CrawlerProperties properties, Consumer<CrawledPage> sink) {
+        return engine(properties, new CrawlStateStore(properties, TimeUnit.DAYS.toMillis(45)), sink);
+    }
+
+    private static CrawlEngine engine(
+            CrawlerProperties properties, CrawlStateStore states, Consumer<CrawledPage> sink) {
+        RobotsTxtCache robots = new RobotsTxtCache(properties);
+        return new CrawlEngine(
+                new WebCrawler(properties, robots, new SimpleMeterRegistry()), robots, new FingerprintSeenSet(properties),
+                states, properties, sink);
+    }
+
+    private CrawlEngine engine(CrawlerProperties properties, UrlSeenSet seen, Set<String> crawledPaths) {
+        RobotsTxtCache robots = new RobotsTxtCache(properties);
+        return new CrawlEngine(
+                new WebCrawler(properties, robots, new SimpleMeterRegistry()), robots, seen,
+                new CrawlStateStore(properties, TimeUnit.DAYS.toMillis(45)), properties,
+                page -> crawledPaths.add(page.url().substring(base.length())));
+    }
+
+    private static CrawlerProperties properties(int maxDepth, int perHostConcurrency, long crawlDelayMs) {
+        return properties(maxDepth, perHostConcurrency, crawlDelayMs, 1);
+    }
+
+    private static CrawlerProperties properties(
+            int maxDepth, int perHostConcurrency, long crawlDelayMs, int recrawlAfterHours) {
+        return properties(maxDepth, perHostConcurrency, crawlDelayMs, recrawlAfterHours, 100);
+    }
+
+    private static CrawlerProperties properties(
+            int maxDepth, int perHostConcurrency, long crawlDelayMs, int recrawlAfterHours, int maxPagesPerRun) {
+        return new CrawlerProperties(
+                List.of(), maxDepth, maxPagesPerRun, List.of(), 16, perHostConcurrency,
+                crawlDelayMs, 1000, 1000, 2000, "SwiftSeekBot/test", 100, 60, 10_000, recrawlAfterHours, "",
+                0, recrawlAfterHours, 10_000, "", 1 << 20, 10_000, Set.of("text/html"));
+    }
+}
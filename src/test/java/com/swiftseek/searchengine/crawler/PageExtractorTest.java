@@ -0,0 +1,58 @@
+package com.swiftseek.searchengine.crawler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.junit.jupiter.api.Test;
+
+class PageExtractorTest {
+
+    @Test
+    void extractsTitleVisibleTextAndLinksInOnePass() {
+        String html = """
+                <html><head><title>Spring Guides</title>
+                <style>body { color: red }</style><script>var hidden = 1;</script></head>
+                <body>
+                  <h1>Getting <em>Started</em></h1>
+                  <p>Build a <a href="/rest">REST service</a> with <b>Spring</b>.</p>
+                  <svg><title>icon</title></svg>
+                  <ul><li>One</li><li><a href="https://spring.io/blog#top">Blog</a></li></ul>
+                  <a href="mailto:team@example.com">Mail</a>
+                </body></html>""";
+
+        PageExtractor.Extraction page = extract(html, 1000, 10);
+
+        assertEquals("Spring Guides", page.title());
+        assertEquals("Getting Started Build a REST service with Spring. One Blog Mail", page.text());
+        assertEquals(List.of("https://example.com/rest", "https://spring.io/blog"), page.links());
+        assertFalse(page.truncated());
+    }
+
+    @Test
+    void stopsReadingOnceBothBudgetsAreUsedUp() {
+        StringBuilder html = new StringBuilder("<html><head><title>Big</title></head><body>");
+        for (int i = 0; i < 10_000; i++) {
+            html.append("<p>Paragraph ").append(i).append(" <a href=\"/p").append(i).append("\">link</a></p>");
+        }
+        html.append("</body></html>");
+
+        PageExtractor.Extraction page = extract(html.toString(), 50, 3);
+
+        assertEquals(50, page.text().length());
+        assertTrue(page.text().startsWith("Paragraph 0 link Paragraph 1 link"));
+        assertEquals(List.of("https://example.com/p0", "https://example.com/p1", "https://example.com/p2"),
+                page.links());
+        assertTrue(page.truncated());
+    }
+
+    private static PageExtractor.Extraction extract(String html, int maxChars, int maxLinks) {
+        try (StreamParser parser = new StreamParser(Parser.htmlParser()).parse(html, "https://example.com/")) {
+            return PageExtractor.extract(parser, maxChars, maxLinks);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.swiftseek.searchengine.crawler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class RobotsRulesTest {
+
+    @Test
+    void longestMatchWinsAndAllowWinsTies() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow: /docs/
+                Allow: /docs/public/
+                Disallow: /page
+                Allow: /page
+                """, "SwiftSeekBot");
+
+        assertFalse(rules.isAllowed("/docs/internal.html"));
+        assertTrue(rules.isAllowed("/docs/public/guide.html"));
+        assertTrue(rules.isAllowed("/page"));
+        assertTrue(rules.isAllowed("/other"));
+        // plain prefix rules, not substring matches
+        assertTrue(rules.isAllowed("/blog/docs/"));
+    }
+
+    @Test
+    void supportsWildcardsAndEndAnchor() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow: /*.pdf$
+                Disallow: /search*q=
+                Disallow: /exact$
+                """, "SwiftSeekBot");
+
+        assertFalse(rules.isAllowed("/files/report.pdf"));
+        assertTrue(rules.isAllowed("/files/report.pdf?download=1"));
+        assertFalse(rules.isAllowed("/search/results?q=java"));
+        assertTrue(rules.isAllowed("/search/results"));
+        assertFalse(rules.isAllowed("/exact"));
+        assertTrue(rules.isAllowed("/exact/child"));
+    }
+
+    @Test
+    void prefersOwnGroupAndExposesCrawlDelay() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: *
+                Disallow: /
+
+                User-agent: Googlebot
+                User-agent: SwiftSeekBot
+                Crawl-delay: 2.5
+                Disallow: /private # comment
+                """, "SwiftSeekBot");
+
+        assertTrue(rules.isAllowed("/public"));
+        assertFalse(rules.isAllowed("/private/x"));
+        assertEquals(2500, rules.crawlDelayMillis());
+    }
+
+    @Test
+    void emptyOrMissingRobotsAllowsEverything() {
+        assertTrue(RobotsRules.parse("", "SwiftSeekBot").isAllowed("/anything"));
+        assertTrue(RobotsRules.parse("User-agent: *\nDisallow:\n", "SwiftSeekBot").isAllowed("/x"));
+        assertEquals(-1, RobotsRules.ALLOW_ALL.crawlDelayMillis());
+    }
+
+    @Test
+    void groupsOnlyApplyWhenTheyNameOurProductToken() {
+        RobotsRules rules = RobotsRules.parse("""
+                User-agent: bot
+                User-agent: seek
+                Disallow: /
+
+                User-agent: *
+                Disallow: /private
+                """, "SwiftSeekBot");
+
+        // substrings of our token do not name us, so the * group applies
+        assertTrue(rules.isAllowed("/public"));
+        assertFalse(rules.isAllowed("/private"));
+
+        RobotsRules versioned = RobotsRules.parse("""
+                User-agent: swiftseekbot/2.0
+                Disallow: /drafts
+                """, "SwiftSeekBot");
+        assertFalse(versioned.isAllowed("/drafts/a"));
+    }
+}
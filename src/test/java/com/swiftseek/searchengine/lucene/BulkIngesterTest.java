@@ -0,0 +1,135 @@
+package com.swiftseek.searchengine.lucene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Set;
+
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * {@link BulkIngester} over a small temporary index.
+ */
+class BulkIngesterTest {
+
+    @TempDir
+    Path root;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private LuceneIndexManager manager;
+    private BulkIngester ingester;
+
+    @BeforeEach
+    void openIndex() throws IOException {
+        manager = new LuceneIndexManager(new IndexProperties(
+                root.toString(), IndexProperties.DirectoryType.NIO, Set.of(),
+                16, Lucene99Codec.Mode.BEST_SPEED, 7, 30, 0));
+        // tiny batches and lines so the tests cross both limits
+        ingester = new BulkIngester(new LuceneIndexer(manager), manager, JsonMapper.builder().build(),
+                registry, 2, 300, 1 << 20, 10, 1);
+    }
+
+    @AfterEach
+    void closeIndex() throws IOException {
+        manager.close();
+    }
+
+    @Test
+    void pagesAndArticlesAreIndexedAndBadLinesRejected() throws IOException {
+        long now = System.currentTimeMillis();
+        BulkResult result = ingester.ingest(ndjson(
+                "{\"title\":\"Java Basics\",\"url\":\"https://example.com/java\",\"content\":\"Learn Java\","
+                        + "\"domain\":\"example.com\",\"crawlTime\":" + now + "}",
+                "",
+                "{\"title\":\"Spring News\",\"url\":\"https://news.example.com/spring\",\"content\":\"Spring 7\","
+                        + "\"source\":\"Example News\",\"publishedAt\":\"" + Instant.ofEpochMilli(now) + "\"}\r",
+                "{\"title\":\"No URL\",\"content\":\"x\"}",
+                "{\"title\":\"Broken\",",
+                "{\"title\":\"Old\",\"url\":\"https://example.com/old\",\"content\":\"x\",\"timestamp\":0}",
+                "{\"title\":\"Huge\",\"url\":\"https://example.com/huge\",\"content\":\"" + "x".repeat(400) + "\"}",
+                "{\"title\":\"Defaults\",\"url\":\"https://docs.example.org/page\",\"unknown\":true}"));
+
+        assertEquals(3, result.accepted());
+        assertEquals(0, result.updated());
+        assertEquals(4, result.rejected());
+        assertEquals("line 4: url is missing", result.errors().get(0));
+        assertTrue(result.errors().get(1).startsWith("line 5: malformed JSON"));
+        assertEquals("line 6: timestamp is past retention", result.errors().get(2));
+        assertEquals("line 7: record is larger than 300 bytes", result.errors().get(3));
+
+        manager.refresh();
+        assertEquals(1, count("domain", "Example News"));
+        assertEquals(1, count("domain", "docs.example.org"));
+    }
+
+    @Test
+    void reimportingReplacesDocuments() throws IOException {
+        String line = "{\"title\":\"Java\",\"url\":\"https://example.com/java\",\"content\":\"v1\"}";
+        assertEquals(1, ingester.ingest(ndjson(line, line)).updated()); // the second copy replaces the first
+        manager.refresh();
+
+        BulkResult again = ingester.ingest(ndjson(line.replace("v1", "v2")));
+        manager.refresh();
+
+        assertEquals(1, again.accepted());
+        assertEquals(1, again.updated());
+        assertEquals(1, count("id", "https://example.com/java"));
+    }
+
+    @Test
+    void urlRepeatedInALaterBatchCountsAsUpdated() throws IOException {
+        String java = "{\"title\":\"Java\",\"url\":\"https://example.com/java\",\"content\":\"v1\"}";
+        String spring = "{\"title\":\"Spring\",\"url\":\"https://example.com/spring\",\"content\":\"v1\"}";
+
+        // batches of two: the second copy of /java is in the second batch
+        BulkResult result = ingester.ingest(ndjson(java, spring, java.replace("v1", "v2")));
+
+        assertEquals(3, result.accepted());
+        assertEquals(1, result.updated());
+        assertEquals(2, registry.get("swiftseek.bulk.records").tag("result", "created").counter().count());
+    }
+
+    @Test
+    void largeRecordsFlushTheBatchBeforeItIsFull() throws IOException {
+        BulkIngester byBytes = new BulkIngester(new LuceneIndexer(manager), manager, JsonMapper.builder().build(),
+                registry, 1000, 300, 500, 10, 1);
+        String[] lines = new String[6];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = "{\"title\":\"Big\",\"url\":\"https://example.com/big" + i + "\",\"content\":\""
+                    + "x".repeat(200) + "\"}";
+        }
+
+        assertEquals(6, byBytes.ingest(ndjson(lines)).accepted());
+        // ~250 bytes a record: every second record reaches the 500 byte budget
+        assertEquals(3, registry.get("swiftseek.bulk.batch").timer().count());
+    }
+
+    private long count(String field, String value) throws IOException {
+        IndexSearcher searcher = manager.acquire();
+        try {
+            return searcher.count(new TermQuery(new Term(field, value)));
+        } finally {
+            manager.release(searcher);
+        }
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
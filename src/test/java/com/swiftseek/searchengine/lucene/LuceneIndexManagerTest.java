@@ -0,0 +1,167 @@
+package com.swiftseek.searchengine.lucene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link LuceneIndexManager} batch writes, and opening indexes written by
+ * older versions.
+ */
+class LuceneIndexManagerTest {
+
+    @TempDir
+    Path root;
+
+    private LuceneIndexManager manager;
+
+    @AfterEach
+    void closeIndex() throws IOException {
+        if (manager != null) {
+            manager.close();
+        }
+    }
+
+    @Test
+    void partitionWithAnOlderSchemaIsRebuiltNotWiped() throws IOException {
+        long now = System.currentTimeMillis();
+        long epochDay = Math.floorDiv(now, TimeUnit.DAYS.toMillis(1));
+        String partition = LocalDate.ofEpochDay(Math.floorDiv(epochDay, 7) * 7) + "_7d";
+
+        // schema 3: no offsets on content, no doc values on domain/timestamp
+        writeOldIndex(root.resolve(partition), Map.of("schema", "3"), now);
+
+        manager = open();
+        assertEquals(1, count("domain", "example.com"));
+        assertFalse(Files.exists(root.resolve(partition + ".rebuild")));
+        assertFalse(Files.exists(root.resolve(partition + ".old")));
+
+        // the rebuilt partition takes documents with the current field options
+        new LuceneIndexer(manager).indexPage("Spring", "https://example.com/spring", "Spring Boot",
+                "example.com", now);
+        manager.refresh();
+        assertEquals(2, count("domain", "example.com"));
+    }
+
+    @Test
+    void indexFromBeforePartitioningIsMigratedOnce() throws IOException {
+        long now = System.currentTimeMillis();
+        writeOldIndex(root, Map.of(), now, now - TimeUnit.DAYS.toMillis(400));
+
+        manager = open();
+        assertEquals(1, count("domain", "example.com")); // the other one is past retention
+        try (Stream<Path> files = Files.list(root)) {
+            assertTrue(files.allMatch(Files::isDirectory), "legacy segment files are deleted");
+        }
+
+        manager.close();
+        manager = open();
+        assertEquals(1, count("domain", "example.com"));
+    }
+
+    @Test
+    void documentWithAMalformedUrlDoesNotStopTheMigration() throws IOException {
+        long now = System.currentTimeMillis();
+        writeOldIndex(root, Map.of(), now);
+        try (FSDirectory directory = FSDirectory.open(root);
+             IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            // no stored domain, so it would have to come from the (unparsable) URL
+            Document doc = new Document();
+            doc.add(new TextField("title", "Broken", Field.Store.YES));
+            doc.add(new StringField("url", "https://exa mple.com/bad", Field.Store.YES));
+            doc.add(new StoredField("timestamp_store", now));
+            writer.addDocument(doc);
+        }
+
+        manager = open();
+        assertEquals(1, count("domain", "example.com"));
+        assertEquals(0, count("id", "https://exa mple.com/bad"));
+    }
+
+    @Test
+    void batchUpdateReplacesDocumentsAcrossPartitions() throws IOException {
+        long now = System.currentTimeMillis();
+        long weeksAgo = now - TimeUnit.DAYS.toMillis(20);
+        manager = open();
+        LuceneIndexer indexer = new LuceneIndexer(manager);
+
+        indexer.indexBatch(List.of(
+                new IndexRequest("Java", "https://example.com/java", "v1", "example.com", weeksAgo),
+                new IndexRequest("Spring", "https://example.com/spring", "v1", "example.com", weeksAgo)));
+        indexer.indexBatch(List.of(
+                new IndexRequest("Java", "https://example.com/java", "v2", "example.com", now),
+                new IndexRequest("Spring", "https://example.com/spring", "v2", "example.com", weeksAgo)));
+        manager.refresh();
+
+        // /java moved to the current partition, /spring was replaced in place
+        assertEquals(2, count("domain", "example.com"));
+        assertEquals(1, count("id", "https://example.com/java"));
+        assertEquals(2, count("content", "v2"));
+        assertEquals(0, count("content", "v1"));
+    }
+
+    private LuceneIndexManager open() throws IOException {
+        return new LuceneIndexManager(new IndexProperties(
+                root.toString(), IndexProperties.DirectoryType.NIO, Set.of(),
+                16, Lucene99Codec.Mode.BEST_SPEED, 7, 30, 0));
+    }
+
+    /** The document layout every version before doc values used. */
+    private static void writeOldIndex(Path path, Map<String, String> commitData, long... crawlTimes)
+            throws IOException {
+        try (FSDirectory directory = FSDirectory.open(path);
+             IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            for (int i = 0; i < crawlTimes.length; i++) {
+                String url = "https://example.com/java" + i;
+                Document doc = new Document();
+                doc.add(new TextField("title", "Java Basics", Field.Store.YES));
+                doc.add(new TextField("content", "Learn Java from scratch", Field.Store.YES));
+                doc.add(new StringField("id", url, Field.Store.NO));
+                doc.add(new StringField("url", url, Field.Store.YES));
+                doc.add(new StringField("domain", "example.com", Field.Store.YES));
+                doc.add(new LongPoint("timestamp", crawlTimes[i]));
+                doc.add(new StoredField("timestamp_store", crawlTimes[i]));
+                writer.addDocument(doc);
+            }
+            writer.setLiveCommitData(commitData.entrySet());
+            writer.commit();
+        }
+    }
+
+    private long count(String field, String value) throws IOException {
+        IndexSearcher searcher = manager.acquire();
+        try {
+            return searcher.count(new TermQuery(new Term(field, value)));
+        } finally {
+            manager.release(searcher);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.swiftseek.searchengine.lucene;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link SearchQueryParser} complexity limits.
+ */
+class SearchQueryParserTest {
+
+    @TempDir
+    Path root;
+
+    private LuceneIndexManager manager;
+    private SearchQueryParser parser;
+
+    @BeforeEach
+    void openIndex() throws IOException {
+        manager = new LuceneIndexManager(new IndexProperties(
+                root.toString(), IndexProperties.DirectoryType.NIO, Set.of(),
+                16, Lucene99Codec.Mode.BEST_SPEED, 7, 0, 0));
+        parser = new SearchQueryParser(manager, new SimpleMeterRegistry(), 2.0f, 1.0f, 1.5f,
+                2, 256, 64, 8, 100);
+    }
+
+    @AfterEach
+    void closeIndex() throws IOException {
+        manager.close();
+    }
+
+    @Test
+    void multiTermQueriesNeedAFixedPrefix() {
+        parser.parse("jav* ja?a");
+        parser.parse("/jav.+/");
+        parser.parse("jvaa~");
+
+        assertThrows(InvalidQueryException.class, () -> parser.parse("j*"));
+        assertThrows(InvalidQueryException.class, () -> parser.parse("j?va"));
+        assertThrows(InvalidQueryException.class, () -> parser.parse("a~"));
+        assertThrows(InvalidQueryException.class, () -> parser.parse("/.*/"));
+        assertThrows(InvalidQueryException.class, () -> parser.parse("/j.*/"));
+        assertThrows(InvalidQueryException.class, () -> parser.parse("/(java|kotlin)/"));
+    }
+}
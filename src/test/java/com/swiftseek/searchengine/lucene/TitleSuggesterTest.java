@@ -0,0 +1,94 @@
+package com.swiftseek.searchengine.lucene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link TitleSuggester} over a small temporary index.
+ */
+class TitleSuggesterTest {
+
+    @TempDir
+    Path root;
+
+    private LuceneIndexManager manager;
+    private LuceneIndexer indexer;
+    private QueryLog queryLog;
+
+    @BeforeEach
+    void openIndex() throws IOException {
+        manager = new LuceneIndexManager(new IndexProperties(
+                root.resolve("index").toString(), IndexProperties.DirectoryType.NIO, Set.of(),
+                16, Lucene99Codec.Mode.BEST_SPEED, 7, 0, 0));
+        indexer = new LuceneIndexer(manager);
+        queryLog = new QueryLog("", 1000, 24);
+
+        indexer.indexPage("Spring Boot Search Engine", "https://example.com/spring", "spring");
+        indexer.indexPage("Spring Framework Reference", "https://example.com/reference", "spring");
+        indexer.indexPage("Java Basics Tutorial", "https://example.com/java", "java");
+        manager.refresh();
+    }
+
+    @AfterEach
+    void closeIndex() throws IOException {
+        manager.close();
+    }
+
+    @Test
+    void infixPrefixesMatchAndLoggedQueriesRankFirst() throws IOException {
+        queryLog.record("spring boot");
+        queryLog.record("spring boot");
+        queryLog.record("java");
+
+        TitleSuggester suggester = suggester();
+        suggester.rebuild();
+
+        assertEquals(List.of("Java Basics Tutorial"), suggester.suggest("tut", 5));
+        assertEquals(Set.of("Spring Boot Search Engine", "spring boot"),
+                Set.copyOf(suggester.suggest("spring boo", 5)));
+
+        // "spring boot" was searched twice, so it is suggested and outranks the reference title
+        List<String> spring = suggester.suggest("Spr", 5);
+        assertEquals(3, spring.size());
+        assertEquals("Spring Framework Reference", spring.get(2));
+        assertTrue(spring.contains("spring boot"));
+        suggester.close();
+    }
+
+    @Test
+    void newTitlesAreAddedIncrementallyAndPersisted() throws IOException {
+        TitleSuggester suggester = suggester();
+        assertEquals(List.of(), suggester.suggest("jav", 5));
+        suggester.rebuild();
+
+        indexer.indexPage("Javadoc Style Guide", "https://example.com/javadoc", "docs");
+        assertEquals(List.of("Java Basics Tutorial"), suggester.suggest("jav", 5));
+
+        suggester.refresh();
+        assertEquals(2, suggester.suggest("jav", 5).size());
+        suggester.close();
+
+        // reopened from disk, without a rebuild
+        TitleSuggester reopened = suggester();
+        assertEquals(2, reopened.suggest("jav", 5).size());
+        reopened.close();
+    }
+
+    private TitleSuggester suggester() throws IOException {
+        return new TitleSuggester(manager, indexer, queryLog, new SimpleMeterRegistry(),
+                root.resolve("suggest").toString(), 2, 1000, 100, 100);
+    }
+}
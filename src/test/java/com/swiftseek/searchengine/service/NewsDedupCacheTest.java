@@ -0,0 +1,60 @@
+package com.swiftseek.searchengine.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.swiftseek.searchengine.lucene.IndexProperties;
+import com.swiftseek.searchengine.lucene.LuceneIndexManager;
+import com.swiftseek.searchengine.lucene.LuceneIndexer;
+
+/**
+ * {@link NewsDedupCache} seeded from a small temporary index.
+ */
+class NewsDedupCacheTest {
+
+    @TempDir
+    Path root;
+
+    private LuceneIndexManager manager;
+
+    @BeforeEach
+    void openIndex() throws IOException {
+        manager = new LuceneIndexManager(new IndexProperties(
+                root.toString(), IndexProperties.DirectoryType.NIO, Set.of(),
+                16, Lucene99Codec.Mode.BEST_SPEED, 7, 0, 0));
+        LuceneIndexer indexer = new LuceneIndexer(manager);
+        indexer.indexPage("Java", "https://news.example.com/java", "Java 25");
+        indexer.indexPage("Spring", "https://news.example.com/spring", "Spring 7");
+        manager.refresh();
+    }
+
+    @AfterEach
+    void closeIndex() throws IOException {
+        manager.close();
+    }
+
+    @Test
+    void indexedUrlsAreKnownAfterARestart() throws IOException {
+        NewsDedupCache cache = new NewsDedupCache(manager, 1000);
+        cache.seedFromIndex();
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.isAlreadyIndexed("https://news.example.com/java"));
+        assertFalse(cache.isAlreadyIndexed("https://news.example.com/kotlin"));
+
+        cache.markIndexed("https://news.example.com/kotlin");
+        assertTrue(cache.isAlreadyIndexed("https://news.example.com/kotlin"));
+        assertEquals(3, cache.size());
+    }
+}
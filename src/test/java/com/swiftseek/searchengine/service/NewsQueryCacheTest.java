@@ -0,0 +1,232 @@
+package com.swiftseek.searchengine.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.swiftseek.searchengine.crawler.news.NewsApiClient;
+import com.swiftseek.searchengine.crawler.news.NewsArticle;
+import com.swiftseek.searchengine.util.CircuitBreaker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link NewsQueryCache} + {@link NewsApiClient} against a local stub
+ * standing in for NewsAPI.
+ */
+class NewsQueryCacheTest {
+
+    private HttpServer server;
+    private String base;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicLong delayMillis = new AtomicLong();
+    private final AtomicReference<String> title = new AtomicReference<>("First");
+    private final AtomicBoolean failing = new AtomicBoolean();
+    /** When set, the stub holds every response until it is counted down. */
+    private volatile CountDownLatch release;
+
+    private final List<NewsQueryCache> caches = new ArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v2/everything", this::handle);
+        server.setExecutor(java.util.concurrent.Executors.newFixedThreadPool(8));
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        caches.forEach(NewsQueryCache::close);
+        server.stop(0);
+    }
+
+    @Test
+    void missDoesNotBlockAndConcurrentRequestsShareOneFetch() throws Exception {
+        release = new CountDownLatch(1);
+        List<List<NewsArticle>> fetched = new CopyOnWriteArrayList<>();
+        NewsQueryCache cache = cache(client(10_000, 5), Duration.ofMinutes(10));
+        cache.addFetchListener(fetched::add);
+
+        // NewsAPI does not answer until released, so get() must return first
+        List<CompletableFuture<List<NewsArticle>>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(cache.get(i % 2 == 0 ? "Java" : " java "));
+        }
+        assertTrue(futures.stream().noneMatch(CompletableFuture::isDone), "get() waited for NewsAPI");
+
+        release.countDown();
+        for (CompletableFuture<List<NewsArticle>> future : futures) {
+            assertEquals("First", future.get(5, TimeUnit.SECONDS).get(0).title());
+        }
+        assertEquals(1, requests.get());
+        assertEquals(1, fetched.size());
+    }
+
+    @Test
+    void slowNewsApiTimesOutAndOpensTheCircuit() throws Exception {
+        delayMillis.set(2000);
+        NewsApiClient client = client(200, 2);
+        NewsQueryCache cache = cache(client, Duration.ofMinutes(10));
+
+        // the stub would answer after 2s: an empty result means the read timed out
+        assertEquals(List.of(), cache.get("one").get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(), cache.get("two").get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.OPEN, client.circuitState());
+
+        // open circuit: answered without touching NewsAPI
+        assertEquals(List.of(), cache.get("three").get(1, TimeUnit.SECONDS));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void sizeIsBoundedByTheNumberOfCachedArticles() throws Exception {
+        NewsQueryCache cache = new NewsQueryCache(client(2000, 5)::fetchNews, new SimpleMeterRegistry(),
+                3, Duration.ofMinutes(10), Duration.ofMinutes(10), 2, 10);
+        caches.add(cache);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, cache.get("query " + i).get(5, TimeUnit.SECONDS).size());
+        }
+
+        // one article per query and room for three: at least seven are evicted
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.stats().evictionCount() < 7 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(cache.stats().evictionCount() >= 7, "evictions: " + cache.stats().evictionCount());
+        assertEquals(10, requests.get());
+    }
+
+    @Test
+    void staleEntryIsServedWhileItRefreshes() throws Exception {
+        List<List<NewsArticle>> fetched = new CopyOnWriteArrayList<>();
+        NewsQueryCache cache = cache(client(2000, 5), Duration.ofMillis(200));
+        cache.addFetchListener(fetched::add);
+
+        assertEquals("First", cache.get("java").get(5, TimeUnit.SECONDS).get(0).title());
+
+        Thread.sleep(300);
+        title.set("Second");
+        delayMillis.set(300);
+
+        CompletableFuture<List<NewsArticle>> stale = cache.get("java");
+        assertTrue(stale.isDone(), "stale entry was not served immediately");
+        assertEquals("First", stale.get().get(0).title());
+
+        // listeners run just before the refreshed entry is stored
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((fetched.size() < 2 || !"Second".equals(cache.get("java").get().get(0).title()))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("Second", fetched.get(1).get(0).title());
+        assertEquals("Second", cache.get("java").get().get(0).title());
+    }
+
+    @Test
+    void staleEntryStillExpiresWhileNewsApiIsDown() throws Exception {
+        NewsQueryCache cache = cache(client(2000, 100), Duration.ofMillis(100), Duration.ofMillis(600));
+        assertEquals("First", cache.get("java").get(5, TimeUnit.SECONDS).get(0).title());
+
+        failing.set(true);
+        long written = System.currentTimeMillis();
+
+        // refreshes keep failing: the stale entry is served until max-stale, then dropped
+        List<NewsArticle> served = List.of();
+        long deadline = written + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            served = cache.get("java").get(5, TimeUnit.SECONDS);
+            if (served.isEmpty()) break;
+            assertEquals("First", served.get(0).title());
+            Thread.sleep(50);
+        }
+        assertEquals(List.of(), served, "stale entry outlived max-stale");
+        assertTrue(System.currentTimeMillis() - written >= 400, "stale entry dropped too early");
+        assertTrue(requests.get() > 2, "refreshes were not attempted");
+    }
+
+    @Test
+    void withoutAnApiKeyNewsApiIsNeverCalled() throws Exception {
+        NewsApiClient client = new NewsApiClient(new SimpleMeterRegistry(), base, "",
+                500, 2000, 5, 60_000);
+        NewsQueryCache cache = cache(client, Duration.ofMinutes(10));
+
+        assertEquals(List.of(), cache.get("java").get(5, TimeUnit.SECONDS));
+        assertEquals(0, requests.get());
+        assertEquals(CircuitBreaker.State.CLOSED, client.circuitState());
+    }
+
+    /* ---------------------------------------------------
+       HELPERS + STUB SERVER
+    --------------------------------------------------- */
+
+    private NewsApiClient client(long readTimeoutMs, int failureThreshold) {
+        return new NewsApiClient(new SimpleMeterRegistry(), base, "test-key",
+                500, readTimeoutMs, failureThreshold, 60_000);
+    }
+
+    private NewsQueryCache cache(NewsApiClient client, Duration ttl) {
+        return cache(client, ttl, Duration.ofMinutes(10));
+    }
+
+    private NewsQueryCache cache(NewsApiClient client, Duration ttl, Duration maxStale) {
+        NewsQueryCache cache = new NewsQueryCache(client::fetchNews, new SimpleMeterRegistry(),
+                1000, ttl, maxStale, 2, 10);
+        caches.add(cache);
+        return cache;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            CountDownLatch latch = release;
+            if (latch != null) {
+                latch.await(10, TimeUnit.SECONDS);
+            }
+            Thread.sleep(delayMillis.get());
+            if (failing.get()) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            byte[] bytes = ("{\"status\":\"ok\",\"articles\":[{\"title\":\"" + title.get() + "\","
+                    + "\"url\":\"https://news.example.com/1\",\"content\":\"Java news\","
+                    + "\"source\":{\"name\":\"Stub\"},\"publishedAt\":\"2026-10-17T10:00:00Z\"}]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // client gave up (read timeout)
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.swiftseek.searchengine.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.swiftseek.searchengine.lucene.InvalidQueryException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link SearchAdmission} limits and load shedding, with searches that
+ * block until released instead of real Lucene work.
+ */
+class SearchAdmissionTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsOversizedAndDeepPages() {
+        SearchAdmission admission = new SearchAdmission(registry, 100, 1000, 1000, 1, 0, 0);
+
+        admission.check(0, 100, null, false);
+        admission.check(0, 1000, null, true);
+        admission.check(199, 5, null, false);
+        admission.check(5000, 100, "cursor", false); // page is ignored after a cursor
+
+        assertThrows(InvalidQueryException.class, () -> admission.check(0, 101, null, false));
+        assertThrows(InvalidQueryException.class, () -> admission.check(0, 1001, null, true));
+        assertThrows(InvalidQueryException.class, () -> admission.check(0, 0, null, false));
+        assertThrows(InvalidQueryException.class, () -> admission.check(-1, 5, null, false));
+        assertThrows(InvalidQueryException.class, () -> admission.check(200, 5, null, false));
+    }
+
+    @Test
+    void queuesUpToTheLimitThenShedsLoad() throws Exception {
+        SearchAdmission admission = new SearchAdmission(registry, 100, 1000, 1000, 1, 1, 5_000);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> call(admission, () -> {
+                running.countDown();
+                release.await();
+                return "first";
+            }), pool);
+            running.await();
+
+            CompletableFuture<String> second = CompletableFuture.supplyAsync(
+                    () -> call(admission, () -> "second"), pool);
+            while (registry.get("swiftseek.search.queued").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+
+            // one running, one waiting: the third is turned away at once
+            assertThrows(SearchOverloadedException.class, () -> admission.run(() -> "third"));
+            assertEquals(1, registry.get("swiftseek.search.rejected").tag("reason", "queue-full").counter().count());
+
+            release.countDown();
+            assertEquals("first", first.get(5, TimeUnit.SECONDS));
+            assertEquals("second", second.get(5, TimeUnit.SECONDS));
+            assertEquals(0, registry.get("swiftseek.search.active").gauge().value());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void waitingTooLongIsRejected() throws Exception {
+        SearchAdmission admission = new SearchAdmission(registry, 100, 1000, 1000, 1, 10, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> call(admission, () -> {
+            running.countDown();
+            release.await();
+            return "first";
+        }));
+        running.await();
+
+        assertThrows(SearchOverloadedException.class, () -> admission.run(() -> "late"));
+        assertEquals(1, registry.get("swiftseek.search.rejected").tag("reason", "queue-timeout").counter().count());
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+    }
+
+    private static String call(SearchAdmission admission, SearchAdmission.Search<String> search) {
+        try {
+            return admission.run(search);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.swiftseek.searchengine.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.codecs.lucene99.Lucene99Codec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.swiftseek.searchengine.lucene.IndexProperties;
+import com.swiftseek.searchengine.lucene.LuceneIndexManager;
+import com.swiftseek.searchengine.lucene.LuceneIndexer;
+import com.swiftseek.searchengine.lucene.SearchPage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link SearchResultCache} hits, and invalidation when a refresh opens a
+ * new searcher.
+ */
+class SearchResultCacheTest {
+
+    @TempDir
+    Path root;
+
+    private LuceneIndexManager manager;
+    private SearchResultCache cache;
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @BeforeEach
+    void openIndex() throws IOException {
+        manager = new LuceneIndexManager(new IndexProperties(
+                root.toString(), IndexProperties.DirectoryType.NIO, Set.of(),
+                16, Lucene99Codec.Mode.BEST_SPEED, 7, 0, 0));
+        cache = new SearchResultCache(manager, new SimpleMeterRegistry(), 100);
+    }
+
+    @AfterEach
+    void closeIndex() throws IOException {
+        manager.close();
+    }
+
+    @Test
+    void repeatedQueryIsServedFromTheCache() throws Exception {
+        SearchPage first = get("java  lucene", false);
+        SearchPage second = get(" java lucene ", false);
+
+        assertSame(first, second);
+        assertEquals(1, searches.get());
+    }
+
+    @Test
+    void refreshWithNewDocumentsInvalidatesCachedPages() throws Exception {
+        get("java", false);
+        manager.refresh();
+        get("java", false);
+        assertEquals(1, searches.get(), "a refresh with no changes keeps the cache");
+
+        new LuceneIndexer(manager).indexPage("Java", "https://example.com/java", "Java 25");
+        manager.refresh();
+        get("java", false);
+
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void partialPagesAreNotCached() throws Exception {
+        get("java", true);
+        get("java", true);
+
+        assertEquals(2, searches.get());
+    }
+
+    private SearchPage get(String query, boolean partial) throws Exception {
+        return cache.get(query, null, null, 0, 10, null, false, () -> {
+            searches.incrementAndGet();
+            return new SearchPage(0, List.of(), null, null, partial);
+        });
+    }
+}
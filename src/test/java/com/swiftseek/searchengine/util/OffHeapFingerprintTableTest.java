@@ -0,0 +1,106 @@
+package com.swiftseek.searchengine.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OffHeapFingerprintTableTest {
+
+    @Test
+    void growsAndRemovesWithoutLosingEntries() {
+        OffHeapFingerprintTable table = new OffHeapFingerprintTable(1_000_000);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] keys = random.longs(200_000).toArray();
+
+        for (long key : keys) {
+            table.put(key, 1);
+        }
+        assertEquals(keys.length, table.size());
+
+        for (int i = 0; i < keys.length; i += 2) {
+            assertTrue(table.remove(keys[i]));
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i % 2 == 1, table.contains(keys[i]), "key #" + i);
+        }
+    }
+
+    @Test
+    void refreshesOnlyExpiredEntries() {
+        OffHeapFingerprintTable table = new OffHeapFingerprintTable(1000);
+
+        assertTrue(table.putIfAbsentOrOlder(7, 100, 50));
+        assertFalse(table.putIfAbsentOrOlder(7, 120, 50));
+        assertTrue(table.putIfAbsentOrOlder(7, 200, 150));
+        assertEquals(200, table.get(7));
+    }
+
+    @Test
+    void staysBoundedByEvictingOldestStamps() {
+        OffHeapFingerprintTable table = new OffHeapFingerprintTable(10_000);
+        long bytesAtLimit = 0;
+
+        for (int i = 0; i < 500_000; i++) {
+            table.put(UrlFingerprint.hash("https://example.com/" + i), i);
+            if (i == 100_000) bytesAtLimit = table.memoryBytes();
+        }
+
+        assertEquals(bytesAtLimit, table.memoryBytes());
+        assertTrue(table.contains(UrlFingerprint.hash("https://example.com/499999")));
+        assertFalse(table.contains(UrlFingerprint.hash("https://example.com/0")));
+    }
+
+    @Test
+    void evictsHalfASegmentWhenAllStampsAreEqual() {
+        // 1024-slot segments, full at 768 entries; small keys all land in segment 0
+        OffHeapFingerprintTable table = new OffHeapFingerprintTable(10_000);
+        for (long key = 1; key <= 768; key++) {
+            table.put(key, 5);
+        }
+        assertEquals(768, table.size());
+
+        table.put(769, 5);
+
+        long survivors = 0;
+        for (long key = 1; key <= 768; key++) {
+            if (table.contains(key)) survivors++;
+        }
+        assertEquals(384, survivors);
+        assertTrue(table.contains(769));
+    }
+
+    @Test
+    void evictsOldestFirstThenTiesOfTheNewest() {
+        OffHeapFingerprintTable table = new OffHeapFingerprintTable(10_000);
+        for (long key = 1; key <= 768; key++) {
+            table.put(key, key <= 100 ? 1 : 9);
+        }
+
+        table.put(769, 9);
+
+        for (long key = 1; key <= 100; key++) {
+            assertFalse(table.contains(key), "old key " + key);
+        }
+        assertEquals(385, table.size());
+    }
+
+    @Test
+    void snapshotRoundTrip(@TempDir Path dir) throws Exception {
+        OffHeapFingerprintTable table = new OffHeapFingerprintTable(10_000);
+        for (int i = 0; i < 5000; i++) {
+            table.put(UrlFingerprint.of("https://example.com/" + i), i);
+        }
+        Path file = dir.resolve("seen.bin");
+        table.writeSnapshot(file);
+
+        OffHeapFingerprintTable restored = new OffHeapFingerprintTable(10_000);
+        assertEquals(5000, restored.readSnapshot(file));
+        assertEquals(1234, restored.get(UrlFingerprint.of("HTTPS://Example.com:443/1234#top")));
+    }
+}